@@ -0,0 +1,141 @@
+package benchmark;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import config.MazeConfig;
+import model.Direction;
+import model.Ghost;
+import model.Ghost.GhostType;
+import model.Ghost.TargetingMode;
+import model.MazeState;
+import model.PacMan;
+import model.SimulationEngine;
+import utils.RandomSource;
+
+/**
+ * Partie partagée par les benchmarks : soit la carte {@code Level1},
+ * soit une carte générée de la plus grande taille possible (51x50),
+ * avec 4 fantômes ou {@link #CROWD} fantômes de chaque type.
+ * <p>Pac-Man est piloté de façon déterministe pour que la partie avance
+ * (pacgommes mangées, fantômes activés, vies perdues) comme en jeu.
+ */
+@State(Scope.Thread)
+public class MazeFixture {
+    /** Durée d'un tick simulé (en nanosecondes). */
+    static final long TICK = 1_000_000_000L / SimulationEngine.DEFAULT_TICK_RATE;
+    /** Nombre de ticks simulés avant les mesures pour activer les fantômes. */
+    private static final int WARMUP_TICKS = 600;
+    /** Nombre de ticks entre deux changements de direction de Pac-Man. */
+    private static final int STEER_PERIOD = 23;
+    private static final Direction[] DIRECTIONS = {
+        Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST
+    };
+    /** Largeur maximale d'une carte générée. */
+    private static final int MAX_WIDTH = 50;
+    /** Hauteur maximale d'une carte générée. */
+    private static final int MAX_HEIGHT = 51;
+    /** Nombre de fantômes de chaque type de la carte {@code 51x50-crowd}. */
+    private static final int CROWD = 64;
+    /** Graine des cartes générées et des fantômes : chaque mesure joue la même partie. */
+    private static final long SEED = 42;
+
+    /** Carte utilisée : {@code Level1}, {@code 51x50} ou {@code 51x50-crowd} (cartes générées). */
+    @Param({"Level1", "51x50", "51x50-crowd"})
+    private String map;
+
+    /** Mode de ciblage des fantômes. */
+    @Param({"EUCLIDEAN", "PATH"})
+    private TargetingMode targeting;
+
+    /** Mise à jour des fantômes en parallèle ({@code -p parallel=true}). */
+    @Param({"false"})
+    private boolean parallel;
+
+    private MazeConfig config;
+    private MazeState state;
+    private Ghost blinky;
+    private long ticks;
+    private long seed;
+
+    /** Crée la partie et la fait avancer jusqu'à ce que les fantômes soient actifs. */
+    @Setup
+    public void setup() {
+        if ("Level1".equals(map)) {
+            config = MazeConfig.classicalConfig(false, RandomSource.seeded(SEED));
+        } else if ("51x50".equals(map)) {
+            config = MazeConfig.endlessConfig(false, MAX_WIDTH, MAX_HEIGHT, null,
+                RandomSource.seeded(SEED));
+        } else {
+            final int[] mix = new int[GhostType.values().length];
+            Arrays.fill(mix, CROWD);
+            config = MazeConfig.endlessConfig(false, MAX_WIDTH, MAX_HEIGHT, mix,
+                RandomSource.seeded(SEED));
+        }
+        config.setTargetingMode(targeting);
+        state = new MazeState(config);
+        state.setParallelGhosts(parallel);
+        blinky = config.getGhostKind(GhostType.BLINKY).get(0);
+        seed = 1;
+        ticks = 0;
+        for (int i = 0; i < WARMUP_TICKS && !state.isOver(); i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Exécute un tick de la partie ; une nouvelle partie est lancée sur la même
+     * carte lorsque la précédente est terminée (coût amorti sur des milliers de ticks).
+     */
+    void tick() {
+        if (state.isOver()) {
+            restart();
+        }
+        steer();
+        state.update(TICK);
+    }
+
+    /** Change la direction de Pac-Man tous les {@link #STEER_PERIOD} ticks. */
+    void steer() {
+        if (ticks++ % STEER_PERIOD == 0) {
+            //CHECKSTYLE:OFF
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            final Direction direction = DIRECTIONS[(int) ((seed >>> 33) % DIRECTIONS.length)];
+            //CHECKSTYLE:ON
+            config.getPacman().getDirectionBuffer().setBufferDirection(direction);
+            config.getPacman().getDirectionBuffer().setDirectionBufferTimer(0);
+        }
+    }
+
+    private void restart() {
+        if ("Level1".equals(map)) {
+            config = MazeConfig.classicalConfig(false, RandomSource.seeded(SEED));
+        } else {
+            config = MazeConfig.restartedEndlessConfig(false, RandomSource.seeded(SEED));
+        }
+        config.setTargetingMode(targeting);
+        state = new MazeState(config);
+        state.setParallelGhosts(parallel);
+        blinky = config.getGhostKind(GhostType.BLINKY).get(0);
+    }
+
+    final MazeConfig getConfig() {
+        return config;
+    }
+
+    final MazeState getState() {
+        return state;
+    }
+
+    final PacMan getPacman() {
+        return config.getPacman();
+    }
+
+    final Ghost getBlinky() {
+        return blinky;
+    }
+}
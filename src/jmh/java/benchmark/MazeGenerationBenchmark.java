@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import config.Cell;
+import config.mazeGen.MainGrid;
+import config.mazeGen.MazeGenerator;
+import config.mazeGen.MazeGenerator.Backtracking;
+
+/**
+ * Compare les deux versions du backtracking de {@link MazeGenerator} sur les tailles
+ * minimale et maximale de {@link MainGrid#getMinMaxHauteur()} et
+ * {@link MainGrid#getMinMaxLongueur()}. Les résultats sont en ms/op.
+ * <p>Le temps de génération dépend beaucoup de la graine : chaque itération génère les
+ * cartes de la même suite de graines, identique pour les deux versions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MazeGenerationBenchmark {
+    /** Graine de la suite de graines des cartes. */
+    private static final long SEED = 42;
+
+    /** Version du backtracking. */
+    @Param({"FULL_SCAN", "INCREMENTAL"})
+    private Backtracking backtracking;
+
+    /** Hauteur de la carte : {@code MIN} ou {@code MAX}. */
+    @Param({"MIN", "MAX"})
+    private String height;
+
+    /** Longueur de la carte : {@code MIN} ou {@code MAX}. */
+    @Param({"MIN", "MAX"})
+    private String width;
+
+    private int hauteur;
+    private int longueur;
+    private SplittableRandom seeds;
+
+    /** Choisit la taille des cartes. */
+    @Setup
+    public void setup() {
+        hauteur = MainGrid.getMinMaxHauteur()["MIN".equals(height) ? 0 : 1];
+        longueur = MainGrid.getMinMaxLongueur()["MIN".equals(width) ? 0 : 1];
+    }
+
+    /** Recommence la suite de graines à chaque itération. */
+    @Setup(Level.Iteration)
+    public void resetSeeds() {
+        seeds = new SplittableRandom(SEED);
+    }
+
+    /**
+     * Génère une carte avec la graine suivante. Les graines où le générateur échoue
+     * échouent avec les deux versions et sont comptées quand même.
+     * @return {@code Cell[][]}, {@code null} si la génération a échoué
+     */
+    @Benchmark
+    public Cell[][] generate() {
+        final MazeGenerator generator = new MazeGenerator(
+            new SplittableRandom(seeds.nextLong()), backtracking);
+        try {
+            return generator.generate(hauteur, longueur);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import config.Cell;
+import config.MazeConfig;
+import geometry.IntCoordinates;
+import geometry.RealCoordinates;
+import model.Direction;
+import model.Ghost;
+import model.PacMan;
+
+/**
+ * Benchmarks du chemin critique de la simulation, exécutés sur chaque carte de
+ * {@link MazeFixture}. Les résultats sont en ns/op ; le profiler {@code gc}
+ * (configuré dans {@code build.gradle}) donne les allocations par opération.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimulationBenchmark {
+    /** Nombre de positions parcourues par les benchmarks de géométrie. */
+    private static final int SAMPLES = 1024;
+
+    /** Positions réelles (décalées d'une fraction de case) de la carte. */
+    private RealCoordinates[] positions;
+    /** Positions entières de la carte, y compris en dehors (wrap des tunnels). */
+    private IntCoordinates[] cells;
+    /** Centres des cases sans mur de la carte, où un fantôme choisit sa direction. */
+    private RealCoordinates[] openCells;
+    private int index;
+
+    /**
+     * Prépare les positions utilisées par les benchmarks de géométrie.
+     * @param fixture Partie en cours
+     */
+    @Setup
+    public void setup(final MazeFixture fixture) {
+        final MazeConfig config = fixture.getConfig();
+        final int width = config.getWidth();
+        final int height = config.getHeight();
+        final double step = 0.37;
+        positions = new RealCoordinates[SAMPLES];
+        cells = new IntCoordinates[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            final double x = (i * step * width) % width;
+            final double y = (i * step * step * height) % height;
+            positions[i] = new RealCoordinates(x, y);
+            cells[i] = new IntCoordinates((int) x - 1, (int) y + 1);
+        }
+        final List<RealCoordinates> open = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final Cell cell = config.getCell(new IntCoordinates(x, y));
+                if (!cell.hasWall() && cell.getContent() != Cell.Content.SPAWN) {
+                    open.add(new RealCoordinates(x, y));
+                }
+            }
+        }
+        openCells = new RealCoordinates[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            openCells[i] = open.get(i * open.size() / SAMPLES);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+    /**
+     * Un tick complet de la partie (Pac-Man, fantômes, collisions).
+     * @param fixture Partie en cours
+     */
+    @Benchmark
+    public void mazeStateUpdate(final MazeFixture fixture) {
+        fixture.tick();
+    }
+
+    /**
+     * Mise à jour d'un fantôme (état, cible, direction, position).
+     * @param fixture Partie en cours
+     */
+    @Benchmark
+    public void ghostUpdate(final MazeFixture fixture) {
+        fixture.getBlinky().updateGhost(fixture.getState(), MazeFixture.TICK);
+    }
+
+    /**
+     * Directions possibles d'un fantôme au centre d'une case sans mur.
+     * @param fixture Partie en cours
+     * @return {@code List<Direction>}
+     */
+    @Benchmark
+    public List<Direction> ghostPossibleDirections(final MazeFixture fixture) {
+        final Ghost ghost = fixture.getBlinky();
+        ghost.setPos(openCells[next()]);
+        return ghost.possibleDirections(fixture.getConfig());
+    }
+
+    /**
+     * Mise à jour de Pac-Man (direction, position, pacgommes).
+     * @param fixture Partie en cours
+     */
+    @Benchmark
+    public void pacManUpdate(final MazeFixture fixture) {
+        final PacMan pacman = fixture.getPacman();
+        fixture.steer();
+        pacman.updatePacMan(fixture.getState(), MazeFixture.TICK);
+    }
+
+    /**
+     * Cases voisines d'une position réelle.
+     * @return {@code Set<IntCoordinates>}
+     */
+    @Benchmark
+    public Set<IntCoordinates> intNeighbours() {
+        return positions[next()].intNeighbours();
+    }
+
+    /**
+     * Accès à une case de la carte (avec wrap).
+     * @param fixture Partie en cours
+     * @return {@link Cell}
+     */
+    @Benchmark
+    public Cell getCell(final MazeFixture fixture) {
+        return fixture.getConfig().getCell(cells[next()]);
+    }
+
+    /**
+     * Test de mur sur la couche primitive de la carte (avec wrap).
+     * @param fixture Partie en cours
+     * @return {@code boolean}
+     */
+    @Benchmark
+    public boolean isWall(final MazeFixture fixture) {
+        final IntCoordinates cell = cells[next()];
+        return fixture.getConfig().isWall(cell.x(), cell.y());
+    }
+}
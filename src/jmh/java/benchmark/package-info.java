@@ -0,0 +1,6 @@
+/**
+ * Benchmarks JMH du modèle (boucle de simulation, fantômes, Pac-Man, géométrie).
+ * <p>Lancés avec {@code ./gradlew jmh}, ils mesurent le temps par opération et,
+ * grâce au profiler {@code gc}, le débit d'allocation de chaque opération.
+ */
+package benchmark;
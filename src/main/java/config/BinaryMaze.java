@@ -0,0 +1,131 @@
+package config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FilenameUtils;
+
+import utils.Resources;
+
+/**
+ * Format binaire compact des cartes (fichiers {@code .maze}) : un en-tête puis un octet par
+ * cellule, ligne par ligne (cf {@link Cell#pack()} : murs dans les 4 bits de poids faible,
+ * contenu et cellule restreinte dans les 4 autres).
+ * <pre>
+ * "PMMZ" version largeur hauteur cellules...
+ * </pre>
+ * <p>La version est sur un octet, la largeur et la hauteur sur deux. Un fichier est lu en
+ * une fois et les cellules sont créées directement depuis ses octets, sans passer par des
+ * chaînes comme le format JSON (cf {@link MazeConfig#getJSONMaze}). Une carte ne fait que
+ * quelques kilo-octets et n'existe que dans le jar, où elle ne peut pas être projetée en
+ * mémoire : elle n'est pas lue avec {@code FileChannel.map}.
+ * <p>La configuration de la carte (changements de mode, fantômes) reste dans le JSON.
+ * Les fichiers {@code .maze} sont générés à partir du JSON à chaque build (tâche Gradle
+ * {@code convertMazes}) et ne sont présents que dans le jar : lancé depuis les sources, le
+ * jeu lit directement le JSON.
+ */
+public final class BinaryMaze {
+    /** Extension des fichiers de carte binaires. */
+    public static final String EXTENSION = "maze";
+    /** Premiers octets d'un fichier de carte ("PMMZ"). */
+    private static final int MAGIC = 0x504D4D5A;
+    private static final int VERSION = 1;
+    /** Taille de l'en-tête en octets. */
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + 2 * Short.BYTES;
+    private static final int MAX_SIDE = 0xFFFF;
+
+    private BinaryMaze() {
+    }
+
+    /**
+     * Encode une carte dans le format binaire.
+     * @param maze Carte
+     * @return {@code byte[]}
+     */
+    public static byte[] encode(final Cell[][] maze) {
+        final int height = maze.length;
+        final int width = height == 0 ? 0 : maze[0].length;
+        if (width > MAX_SIDE || height > MAX_SIDE) {
+            throw new IllegalArgumentException("carte trop grande : " + width + "x" + height);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + width * height);
+        buffer.putInt(MAGIC).put((byte) VERSION)
+            .putShort((short) width).putShort((short) height);
+        for (Cell[] line : maze) {
+            for (Cell cell : line) {
+                buffer.put((byte) cell.pack());
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Décode une carte depuis la position courante de {@code buffer}.
+     * @param buffer Octets de la carte, en-tête compris
+     * @return {@code Cell[][]}
+     * @throws IllegalArgumentException si les octets ne sont pas une carte valide
+     */
+    public static Cell[][] decode(final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("pas un fichier de carte");
+        }
+        final int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("version de carte inconnue : " + version);
+        }
+        final int width = Short.toUnsignedInt(buffer.getShort());
+        final int height = Short.toUnsignedInt(buffer.getShort());
+        if (buffer.remaining() < width * height) {
+            throw new IllegalArgumentException("carte tronquée");
+        }
+        final Cell[][] maze = new Cell[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                maze[y][x] = Cell.unpack(buffer.get());
+            }
+        }
+        return maze;
+    }
+
+    /**
+     * Ecrit une carte dans un fichier.
+     * @param maze Carte
+     * @param file Fichier de destination
+     * @throws IOException si le fichier ne peut pas être écrit
+     */
+    public static void write(final Cell[][] maze, final Path file) throws IOException {
+        Files.write(file, encode(maze));
+    }
+
+    /**
+     * Lit une carte depuis un fichier.
+     * @param file Fichier de la carte
+     * @return {@code Cell[][]}
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public static Cell[][] read(final Path file) throws IOException {
+        return decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+    }
+
+    /**
+     * Convertit des cartes JSON en cartes binaires : {@code Level1.json} donne
+     * {@code Level1.maze} dans le dossier de destination. Lancé à chaque build par la tâche
+     * Gradle {@code convertMazes}.
+     * @param args Dossier de destination, puis fichiers JSON à convertir
+     * @throws IOException si un fichier ne peut pas être lu ou écrit
+     */
+    public static void main(final String[] args) throws IOException {
+        final Path directory = Files.createDirectories(Path.of(args[0]));
+        for (int i = 1; i < args.length; i++) {
+            final Path json = Path.of(args[i]);
+            final Cell[][] maze = MazeConfig.parseJSONMaze(Resources.readFileToString(json));
+            final Path target = directory.resolve(
+                FilenameUtils.removeExtension(json.getFileName().toString()) + "." + EXTENSION);
+            write(maze, target);
+            System.out.println(json + " -> " + target + " (" + Files.size(json) + " -> "
+                + Files.size(target) + " octets)");
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package config;
 
 public class Cell {
+    /** Valeurs de {@link Content}, indexées par {@link #pack()}. */
+    private static final Content[] CONTENTS = Content.values();
+    /** Bit de {@link #restricted} dans {@link #pack()}. */
+    private static final int RESTRICTED_BIT = 16;
+    /** Position de l'ordinal du contenu dans {@link #pack()}. */
+    private static final int CONTENT_SHIFT = 5;
+
     private boolean northWall = false;
     private boolean eastWall = false;
     private boolean southWall = false;
@@ -177,4 +184,29 @@ public class Cell {
     public final void setRestricted(final boolean restricted) {
         this.restricted = restricted;
     }
+
+    /**
+     * Renvoie la cellule sur un octet : les 4 murs (Nord, Est, Sud, Ouest) dans les bits de
+     * poids faible, {@link #isRestricted()} et l'ordinal du contenu dans les autres.
+     * @return {@code int} entre 0 et 255
+     */
+    public final int pack() {
+        //CHECKSTYLE:OFF
+        return (northWall ? 1 : 0) | (eastWall ? 2 : 0) | (southWall ? 4 : 0)
+            | (westWall ? 8 : 0) | (restricted ? RESTRICTED_BIT : 0)
+            | content.ordinal() << CONTENT_SHIFT;
+        //CHECKSTYLE:ON
+    }
+
+    /**
+     * Crée la cellule décrite par un octet de {@link #pack()}.
+     * @param code Octet de la cellule
+     * @return {@code Cell}
+     */
+    public static Cell unpack(final int code) {
+        //CHECKSTYLE:OFF
+        return new Cell((code & 1) != 0, (code & 2) != 0, (code & 4) != 0, (code & 8) != 0,
+            CONTENTS[(code & 0xFF) >>> CONTENT_SHIFT], (code & RESTRICTED_BIT) != 0);
+        //CHECKSTYLE:ON
+    }
 }
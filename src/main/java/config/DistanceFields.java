@@ -0,0 +1,118 @@
+package config;
+
+import java.util.Arrays;
+
+import model.Direction;
+
+/**
+ * Cache de champs de distances utilisés par le ciblage "chemin" des {@link model.Ghost}.
+ * <p>Un champ de distances associe à chaque cellule de la carte le nombre de cases à
+ * parcourir pour atteindre une cellule cible, en respectant les murs, le spawn et les
+ * cellules restreintes (cf {@link MazeConfig#getGhostExits(int, int)}). Il est calculé
+ * par un parcours en largeur la première fois qu'une cible est demandée, puis gardé
+ * dans un cache LRU (aucune allocation lorsque le champ est déjà en cache).
+ */
+final class DistanceFields {
+    /** Distance des cellules qui ne peuvent pas atteindre la cible. */
+    static final int UNREACHABLE = -1;
+    /** Directions testées lors du parcours. */
+    private static final Direction[] DIRECTIONS = {
+        Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST
+    };
+
+    private final int width;
+    private final int height;
+    /** Sorties possibles de chaque cellule (partagé avec {@link MazeConfig}). */
+    private final byte[] exits;
+    /** Champs déjà calculés, indexés par cellule cible ({@code null} si absent du cache). */
+    private final int[][] fields;
+    /** Date de dernière utilisation du champ de chaque cellule cible. */
+    private final long[] lastUse;
+    /** Cellules cibles dont le champ est en cache. */
+    private final int[] cached;
+    /** Nombre de champs en cache. */
+    private int size = 0;
+    /** Horloge logique incrémentée à chaque accès. */
+    private long clock = 0;
+
+    /**
+     * Constructeur du cache.
+     * @param width Largeur de la carte
+     * @param height Hauteur de la carte
+     * @param exits Masque des sorties de chaque cellule (indice {@code y * width + x})
+     * @param capacity Nombre maximum de champs gardés en mémoire
+     */
+    DistanceFields(final int width, final int height, final byte[] exits, final int capacity) {
+        this.width = width;
+        this.height = height;
+        this.exits = exits;
+        this.fields = new int[width * height][];
+        this.lastUse = new long[width * height];
+        this.cached = new int[capacity];
+    }
+
+    /**
+     * Renvoie le champ de distances vers la cellule cible, en le calculant si besoin.
+     * @param targetX Abscisse de la cible (dans la carte)
+     * @param targetY Ordonnée de la cible (dans la carte)
+     * @return {@code int[]} distance de chaque cellule, {@link #UNREACHABLE} si inaccessible
+     */
+    synchronized int[] get(final int targetX, final int targetY) {
+        final int target = targetY * width + targetX;
+        int[] field = fields[target];
+        if (field == null) {
+            if (size == cached.length) {
+                evictLeastRecentlyUsed();
+            }
+            field = compute(target);
+            fields[target] = field;
+            cached[size++] = target;
+        }
+        lastUse[target] = ++clock;
+        return field;
+    }
+
+    /** Retire du cache le champ utilisé le moins récemment. */
+    private void evictLeastRecentlyUsed() {
+        int oldest = 0;
+        for (int i = 1; i < size; i++) {
+            if (lastUse[cached[i]] < lastUse[cached[oldest]]) {
+                oldest = i;
+            }
+        }
+        fields[cached[oldest]] = null;
+        cached[oldest] = cached[--size];
+    }
+
+    /**
+     * Parcours en largeur depuis la cible : une cellule est ajoutée si, depuis son centre,
+     * un {@link model.Ghost} peut aller vers une cellule déjà atteinte.
+     * @param target Indice de la cellule cible
+     * @return {@code int[]}
+     */
+    private int[] compute(final int target) {
+        final int[] distances = new int[width * height];
+        Arrays.fill(distances, UNREACHABLE);
+        final int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        distances[target] = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            final int cell = queue[head++];
+            final int x = cell % width;
+            final int y = cell / width;
+            for (Direction dir : DIRECTIONS) {
+                // Cellule d'où l'on arrive sur "cell" en allant vers "dir".
+                final int prevX = Math.floorMod(x - dir.getDx(), width);
+                final int prevY = Math.floorMod(y - dir.getDy(), height);
+                final int prev = prevY * width + prevX;
+                if (distances[prev] == UNREACHABLE && (exits[prev] & dir.getBit()) != 0) {
+                    distances[prev] = distances[cell] + 1;
+                    queue[tail++] = prev;
+                }
+            }
+        }
+        return distances;
+    }
+}
@@ -2,16 +2,20 @@ package config;
 
 import geometry.IntCoordinates;
 import geometry.RealCoordinates;
-import gui.menu.Custom;
 import model.Critter;
 import model.Direction;
 import model.Ghost;
+import model.GhostTable;
 import model.PacMan;
 import model.Ghost.GhostType;
+import model.Ghost.TargetingMode;
 import utils.MapVerification;
+import utils.RandomSource;
 import utils.Resources;
 import model.MazeState;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -19,16 +23,19 @@ import java.util.HashMap;
 
 import org.json.JSONObject;
 import org.json.JSONArray;
+import org.json.JSONException;
 
 import static config.Cell.cell;
 import static model.Direction.EAST;
 import static model.Direction.NONE;
 import static model.Direction.NORTH;
+import static model.Direction.SOUTH;
 import static model.Direction.WEST;
 
 import config.Cell.Content;
 import config.Cell.Type;
 import config.mazeGen.MainGrid;
+import config.mazeGen.SeededMaze;
 
 public final class MazeConfig {
     private static final HashMap<String, String> LINE_TABLE = new HashMap<>();
@@ -45,20 +52,91 @@ public final class MazeConfig {
         LINE_TABLE.put("□", "OUTER");
     }
 
+    /** Copie de la dernière carte générée en Endless, utilisée pour recommencer le niveau. */
+    private static Cell[][] endlessMap;
+    /** Nombre de fantômes de chaque type de la dernière carte Endless. */
+    private static int[] endlessGhostMix;
+
+    /** Valeurs de {@link Content}, indexées par {@link #contents}. */
+    private static final Content[] CONTENT_VALUES = Content.values();
+    /** Décalage pour passer d'un indice de cellule à l'indice du {@code long} qui la contient. */
+    private static final int WORD_SHIFT = 6;
+    /** Valeur renvoyée par {@link #pollDirtyCell()} lorsqu'aucune cellule n'a changé. */
+    public static final int NO_DIRTY_CELL = -1;
+
     /** La carte contenant chaque cellule {@link Cell}. */
     private final Cell[][] grid;
+    /** Largeur de la carte. */
+    private final int width;
+    /** Hauteur de la carte. */
+    private final int height;
+    /** Bit à 1 pour chaque cellule qui contient au moins un mur (indice {@code y * width + x}). */
+    private final long[] walls;
+    /** Bit à 1 pour chaque cellule où les {@link Ghost} ne peuvent pas aller vers le Nord. */
+    private final long[] restrictedCells;
+    /** Ordinal du {@link Content} de chaque cellule (indice {@code y * width + x}). */
+    private final byte[] contents;
+    /** Bit à 1 pour chaque cellule dont le contenu a changé et n'a pas encore été redessiné. */
+    private final long[] dirtyCells;
+    /** Indices des cellules dont le bit est à 1 dans {@link #dirtyCells}. */
+    private final int[] dirtyQueue;
+    /** Nombre de cellules dans {@link #dirtyQueue}. */
+    private int dirtyCount = 0;
+    /**
+     * Masque des sorties possibles pour un {@link Ghost} au centre de chaque cellule
+     * (cf {@link Direction#getBit()}) : les cellules voisines avec un mur ou dans le spawn
+     * sont exclues, ainsi que le Nord pour les cellules restreintes.
+     */
+    private final byte[] ghostExits;
+    /** Nombre maximum de champs de distances gardés en cache (ciblage {@code PATH}). */
+    private static final int DISTANCE_FIELDS_CAPACITY = 256;
+    /** Champs de distances utilisés par le ciblage {@link TargetingMode#PATH}. */
+    private final DistanceFields distanceFields;
+    /** Mode de ciblage des {@link Ghost}. */
+    private TargetingMode targetingMode;
+    /** Abscisses ramenées dans la carte, pour x de {@code -width} à {@code 2 * width - 1}. */
+    private final int[] wrapX;
+    /** Ordonnées ramenées dans la carte, pour y de {@code -height} à {@code 2 * height - 1}. */
+    private final int[] wrapY;
     /** Tableau de nombre qui indique le nombre de seconde entre
      * chaque changement d'états des {@link Ghost}. */
     private final int[] ghostStateSwap;
+    /** Changements de mode des cartes sans clé {@code "swapTime"} (ceux du jeu original). */
+    private static final int[] DEFAULT_STATE_SWAP = {7, 20, 7, 20, 5, 20, 5};
 
     private final int totalPacGomme;
     /**Les coordonnées du sommet haut-gauche et bas-droite du spawn des {@link model.Ghost}.*/
     private final RealCoordinates[] ghostSpawnPos = new RealCoordinates[2];
     private final RealCoordinates ghostSpawnEntrance;
     private final List<Ghost> ghostList = new ArrayList<>();
+    /** Etat des {@link Ghost} de {@link #ghostList}, dans le même ordre. */
+    private final GhostTable ghostTable;
     private final PacMan pacman;
     /** Pac-Man 2 en Coop.*/
     private final PacMan pacman2;
+    /** {@code true} si la carte a été générée (mode Endless). */
+    private final boolean endless;
+    /** Nombre de fantômes de chaque type, indexé par {@link GhostType#ordinal()}. */
+    private final int[] ghostCounts;
+    /** Source d'aléatoire de la carte générée et des fantômes. */
+    private final RandomSource random;
+    /** Nom de la carte (cf {@link #getMaze(String)}) ou, en Endless, de sa configuration. */
+    private final String mapName;
+
+    /** Origine de la carte. */
+    private enum Origin {
+        /** Carte lue dans un fichier JSON. */
+        FILE,
+        /** Carte générée (mode Endless). */
+        GENERATED,
+        /** Dernière carte générée, rejouée (cf {@link #endlessMap}). */
+        RESTARTED,
+        /**
+         * Carte générée d'avance à partir de la graine de la partie (cf {@link SeededMaze}) :
+         * même partie que {@link #GENERATED} avec cette graine.
+         */
+        PREFETCHED
+    }
 
     /**
      * Constructeur qui initialise les configs pour la carte courante.
@@ -72,32 +150,85 @@ public final class MazeConfig {
     public MazeConfig(final boolean coop, final String configPath,
     final boolean endless, final int width, final int height,
     final boolean restartedEndless) {
-        if (restartedEndless) {
-            grid = Custom.getCurrentMap();
+        this(coop, configPath, endless, width, height, restartedEndless, null);
+    }
+
+    /**
+     * Constructeur qui initialise les configs pour la carte courante avec un nombre
+     * de fantômes de chaque type donné.
+     * @param coop Si on est en mode Coop
+     * @param configPath {@code String}Le path du fichier JSON de la map
+     * @param endless
+     * @param width
+     * @param height
+     * @param restartedEndless
+     * @param ghostMix Nombre de fantômes de chaque type, indexé par
+     * {@link GhostType#ordinal()} ; {@code null} pour celui de la carte (cf {@link #getGhostMix})
+     */
+    public MazeConfig(final boolean coop, final String configPath,
+    final boolean endless, final int width, final int height,
+    final boolean restartedEndless, final int[] ghostMix) {
+        this(coop, configPath, restartedEndless ? Origin.RESTARTED
+            : endless ? Origin.GENERATED : Origin.FILE, width, height, ghostMix,
+            RandomSource.create());
+    }
+
+    /**
+     * Constructeur commun, qui tire la carte générée et les fantômes de {@code random}.
+     * @param coop Si on est en mode Coop
+     * @param configPath {@code String}Le path du fichier JSON de la map
+     * @param origin Origine de la carte
+     * @param width Largeur de la carte générée
+     * @param height Hauteur de la carte générée
+     * @param ghostMix Nombre de fantômes de chaque type, {@code null} pour celui de la carte
+     * @param random Source d'aléatoire de la partie
+     */
+    private MazeConfig(final boolean coop, final String configPath, final Origin origin,
+    final int width, final int height, final int[] ghostMix, final RandomSource random) {
+        this.random = random;
+        this.mapName = configPath;
+        if (origin == Origin.RESTARTED || origin == Origin.PREFETCHED) {
+            grid = endlessMap;
             Cell[][] gridCopy = new Cell[grid.length][grid[0].length];
             for (int y = 0; y < grid.length; y++) {
                 for (int x = 0; x < grid[0].length; x++) {
                     gridCopy[y][x] = new Cell(grid[y][x]);
                 }
             }
-            Custom.setCurrentMap(gridCopy);
-        } else if (endless) {
-            grid = MainGrid.createRandomMap(height, width);
+            endlessMap = gridCopy;
+        } else if (origin == Origin.GENERATED) {
+            grid = MainGrid.createRandomMap(height, width, random.getMazeRandom());
             Cell[][] gridCopy = new Cell[grid.length][grid[0].length];
             for (int y = 0; y < grid.length; y++) {
                 for (int x = 0; x < grid[0].length; x++) {
                     gridCopy[y][x] = new Cell(grid[y][x]);
                 }
             }
-            Custom.setCurrentMap(gridCopy);
+            endlessMap = gridCopy;
         } else {
-            grid = getJSONMaze(configPath);
+            grid = getMaze(configPath);
         }
-        ghostStateSwap = getStateSwap(configPath);
+        this.width = grid[0].length;
+        this.height = grid.length;
+        final JSONObject mapConfig = getMapConfig(configPath);
+        ghostStateSwap = getStateSwap(mapConfig);
+        targetingMode = getTargetingMode(mapConfig);
         totalPacGomme = countPacGomme();
         MapVerification.tunnelFinder(grid);
         MapVerification.removeUnnecessaryWall(grid);
 
+        walls = new long[(this.width * this.height + Long.SIZE - 1) / Long.SIZE];
+        restrictedCells = new long[walls.length];
+        contents = new byte[this.width * this.height];
+        dirtyCells = new long[walls.length];
+        dirtyQueue = new int[this.width * this.height];
+        ghostExits = new byte[this.width * this.height];
+        wrapX = wrapTable(this.width);
+        wrapY = wrapTable(this.height);
+        buildCellLayers();
+        distanceFields = new DistanceFields(this.width, this.height, ghostExits,
+            DISTANCE_FIELDS_CAPACITY);
+
         //CHECKSTYLE:OFF
         final int ghostSpawnX = getWidth() / 2 - 4;
         final int ghostSpawnY = getHeight() / 2 - 3;
@@ -126,12 +257,92 @@ public final class MazeConfig {
         }
         pacman.setPos(pacman.getSpawnPos());
 
-        Ghost blinky = new Ghost(this, GhostType.BLINKY);
-        Ghost inky = new Ghost(this, GhostType.INKY, blinky);
-        Ghost pinky = new Ghost(this, GhostType.PINKY);
-        Ghost clyde = new Ghost(this, GhostType.CLYDE);
-        ghostList.addAll(Arrays.asList(blinky, inky, pinky, clyde));
         //CHECKSTYLE:ON
+
+        final int[] mix;
+        if (ghostMix != null) {
+            mix = ghostMix.clone();
+        } else if (origin == Origin.RESTARTED && endlessGhostMix != null) {
+            mix = endlessGhostMix;
+        } else {
+            mix = getGhostMix(mapConfig);
+        }
+        this.endless = origin != Origin.FILE;
+        if (endless) {
+            endlessGhostMix = mix;
+        }
+        this.ghostCounts = mix;
+        ghostTable = new GhostTable(Arrays.stream(mix).sum(), this.width, this.height);
+        ghostTable.setSeed(random.getGhostSeed());
+        createGhosts(mix);
+    }
+
+    /**
+     * Crée les {@link Ghost} tour à tour (BLINKY, INKY, PINKY puis CLYDE), ce qui
+     * donne l'ordre du jeu original avec un fantôme de chaque type. Chaque INKY est lié
+     * au BLINKY créé au même tour, ou au premier BLINKY s'il n'y en a plus.
+     * @param mix Nombre de fantômes de chaque type, indexé par {@link GhostType#ordinal()}
+     */
+    private void createGhosts(final int[] mix) {
+        final int rounds = Arrays.stream(mix).max().orElse(0);
+        Ghost firstBlinky = null;
+        for (int i = 0; i < rounds; i++) {
+            Ghost blinky = null;
+            if (i < mix[GhostType.BLINKY.ordinal()]) {
+                blinky = new Ghost(this, GhostType.BLINKY);
+                ghostList.add(blinky);
+                if (firstBlinky == null) {
+                    firstBlinky = blinky;
+                }
+            }
+            if (i < mix[GhostType.INKY.ordinal()]) {
+                final Ghost linked = blinky != null ? blinky : firstBlinky;
+                ghostList.add(new Ghost(this, GhostType.INKY, linked));
+            }
+            if (i < mix[GhostType.PINKY.ordinal()]) {
+                ghostList.add(new Ghost(this, GhostType.PINKY));
+            }
+            if (i < mix[GhostType.CLYDE.ordinal()]) {
+                ghostList.add(new Ghost(this, GhostType.CLYDE));
+            }
+        }
+    }
+
+    /**
+     * Indique si une carte de ce nom existe, dans une bibliothèque de cartes, en binaire
+     * ou en JSON (cf {@link #getMaze(String)}).
+     * @param name Le nom de la carte.
+     * @return {@code boolean}
+     */
+    public static boolean hasMaze(final String name) {
+        return MazeLibrary.find(name) != null || Resources.hasMaze(name);
+    }
+
+    /**
+     * Méthode qui retourne la carte d'un nom : depuis une bibliothèque de cartes
+     * (cf {@link MazeLibrary}) ou sa version binaire (cf {@link BinaryMaze}) si elles
+     * existent, depuis le JSON sinon.
+     * @param name Le nom du fichier à importer.
+     * @return {@code Cell[][] maze}
+     */
+    public static Cell[][] getMaze(final String name) {
+        final MazeLibrary library = MazeLibrary.find(name);
+        if (library != null) {
+            try {
+                return library.getMaze(name);
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        final Path file = Resources.getMazeFile(name);
+        if (file != null) {
+            try {
+                return BinaryMaze.read(file);
+            } catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
+        }
+        return getJSONMaze(name);
     }
 
     /**
@@ -143,8 +354,16 @@ public final class MazeConfig {
      * @return {@code Cell[][] maze}
      */
     public static Cell[][] getJSONMaze(final String name) {
+        return parseJSONMaze(Resources.getPathOrContent(name));
+    }
+
+    /**
+     * Méthode qui retourne une carte à partir du contenu d'un fichier JSON.
+     * @param file Contenu du fichier
+     * @return {@code Cell[][] maze}
+     */
+    public static Cell[][] parseJSONMaze(final String file) {
         try {
-            String file = Resources.getPathOrContent(name);
             JSONObject jObject = new JSONObject(file);
             JSONArray jArray = new JSONArray(jObject.getJSONArray("Line1"));
             final int lineLength = (jArray.get(0).toString().length() + 1) / 2;
@@ -173,25 +392,281 @@ public final class MazeConfig {
     }
 
     /**
-     * Méthode qui retourne le tableau contenant les différents instants pour
-     * le changement de mode.
+     * Méthode qui retourne le bloc {@code "config"} d'une carte, depuis une bibliothèque de
+     * cartes (cf {@link MazeLibrary}) si elle en contient une, depuis le JSON sinon. Il est
+     * lu une seule fois par chargement de carte puis passé à
+     * {@link #getStateSwap(JSONObject)}, {@link #getGhostMix(JSONObject)} et
+     * {@link #getTargetingMode(JSONObject)}.
      * @param name Le nom du fichier à importer.
-     * @return {@code int[]}
+     * @return {@code JSONObject}, vide si la carte n'a pas de bloc {@code "config"} (les
+     * valeurs par défaut sont alors utilisées).
      */
-    public static int[] getStateSwap(final String name) {
-        try {
-            String file = Resources.getPathOrContent(name);
-            JSONObject jObject = new JSONObject(file).getJSONObject("config");
-            JSONArray jArray = new JSONArray(jObject.getJSONArray("swapTime"));
-            int[] stateSwap = new int[jArray.length()];
-            for (int i = 0; i < stateSwap.length; i++) {
-                stateSwap[i] = jArray.getInt(i);
+    public static JSONObject getMapConfig(final String name) {
+        final MazeLibrary library = MazeLibrary.find(name);
+        if (library != null) {
+            try {
+                return library.getConfig(name);
+            } catch (IllegalArgumentException | JSONException e) {
+                e.printStackTrace();
             }
-            return stateSwap;
-        } catch (Exception e) {
+        }
+        final String file = Resources.getPathOrContent(name);
+        if (!file.isEmpty()) {
+            try {
+                final JSONObject config = new JSONObject(file).optJSONObject("config");
+                if (config != null) {
+                    return config;
+                }
+            } catch (JSONException e) {
+                e.printStackTrace();
+            }
+        }
+        return new JSONObject();
+    }
+
+    /**
+     * Méthode qui retourne le tableau contenant les différents instants pour
+     * le changement de mode, indiqué par la clé {@code "swapTime"} du bloc {@code "config"}.
+     * @param config Bloc {@code "config"} de la carte (cf {@link #getMapConfig(String)}).
+     * @return {@code int[]}, {@link #DEFAULT_STATE_SWAP} si absent.
+     */
+    public static int[] getStateSwap(final JSONObject config) {
+        final JSONArray jArray = config.optJSONArray("swapTime");
+        if (jArray == null) {
+            return DEFAULT_STATE_SWAP.clone();
+        }
+        int[] stateSwap = new int[jArray.length()];
+        for (int i = 0; i < stateSwap.length; i++) {
+            stateSwap[i] = jArray.optInt(i);
+        }
+        return stateSwap;
+    }
+
+    /**
+     * Méthode qui retourne le nombre de {@link Ghost} de chaque type indiqué par la clé
+     * {@code "ghosts"} du bloc {@code "config"}, par exemple
+     * {@code "ghosts" : {"BLINKY" : 1, "PINKY" : 1, "INKY" : 1, "CLYDE" : 1}}.
+     * @param config Bloc {@code "config"} de la carte (cf {@link #getMapConfig(String)}).
+     * @return {@code int[]} indexé par {@link GhostType#ordinal()}, 1 pour chaque type absent.
+     */
+    public static int[] getGhostMix(final JSONObject config) {
+        final int[] mix = new int[GhostType.values().length];
+        Arrays.fill(mix, 1);
+        final JSONObject ghosts = config.optJSONObject("ghosts");
+        if (ghosts != null) {
+            for (GhostType type : GhostType.values()) {
+                mix[type.ordinal()] = Math.max(0, ghosts.optInt(type.name(), 1));
+            }
+        }
+        return mix;
+    }
+
+    /**
+     * Construit une table qui ramène une coordonnée dans la carte
+     * (équivalent de {@code Math.floorMod}) pour les coordonnées proches de la carte.
+     * @param size Taille de la carte sur l'axe
+     * @return {@code int[]} de taille {@code 3 * size}, décalée de {@code size}
+     */
+    private static int[] wrapTable(final int size) {
+        final int copies = 3;
+        final int[] table = new int[copies * size];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = Math.floorMod(i - size, size);
+        }
+        return table;
+    }
+
+    /**
+     * Remplit les couches primitives (murs, cellules restreintes et contenu)
+     * à partir de {@link #grid}.
+     */
+    private void buildCellLayers() {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int index = y * width + x;
+                final Cell c = grid[y][x];
+                if (c.hasWall()) {
+                    walls[index >>> WORD_SHIFT] |= 1L << index;
+                }
+                if (c.isRestricted()) {
+                    restrictedCells[index >>> WORD_SHIFT] |= 1L << index;
+                }
+                contents[index] = (byte) c.getContent().ordinal();
+            }
+        }
+        final Direction[] directions = {NORTH, EAST, SOUTH, WEST};
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int exits = 0;
+                for (Direction dir : directions) {
+                    final int adjX = x + dir.getDx();
+                    final int adjY = y + dir.getDy();
+                    if (!isWall(adjX, adjY) && contentAt(adjX, adjY) != Content.SPAWN) {
+                        exits |= dir.getBit();
+                    }
+                }
+                if (isRestricted(x, y)) {
+                    exits &= ~NORTH.getBit();
+                }
+                ghostExits[y * width + x] = (byte) exits;
+            }
+        }
+    }
+
+    /**
+     * Renvoie le masque des directions qu'un {@link Ghost} peut prendre depuis le centre
+     * de la cellule (x, y), avant de retirer le demi-tour (cf {@link Direction#getBit()}).
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@code int}
+     */
+    public int getGhostExits(final int x, final int y) {
+        return ghostExits[index(x, y)];
+    }
+
+    /**
+     * Ramène une abscisse dans la carte (tunnels).
+     * @param x Abscisse
+     * @return {@code int} entre 0 et {@code width - 1}
+     */
+    private int wrapX(final int x) {
+        final int i = x + width;
+        return i >= 0 && i < wrapX.length ? wrapX[i] : Math.floorMod(x, width);
+    }
+
+    /**
+     * Ramène une ordonnée dans la carte (tunnels).
+     * @param y Ordonnée
+     * @return {@code int} entre 0 et {@code height - 1}
+     */
+    private int wrapY(final int y) {
+        final int i = y + height;
+        return i >= 0 && i < wrapY.length ? wrapY[i] : Math.floorMod(y, height);
+    }
+
+    /**
+     * Renvoie l'indice dans les couches primitives de la cellule (x, y).
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@code int}
+     */
+    private int index(final int x, final int y) {
+        return wrapY(y) * width + wrapX(x);
+    }
+
+    /**
+     * Renvoie vrai si la cellule (x, y) contient au moins un mur.
+     * Equivalent de {@code getCell(x, y).hasWall()} sans passer par les {@link Cell}.
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@code boolean}
+     */
+    public boolean isWall(final int x, final int y) {
+        final int index = index(x, y);
+        return (walls[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     * Renvoie vrai si les {@link Ghost} ne peuvent pas aller vers le Nord dans la cellule (x, y).
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@code boolean}
+     */
+    public boolean isRestricted(final int x, final int y) {
+        final int index = index(x, y);
+        return (restrictedCells[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    /**
+     * Renvoie le {@link Content} de la cellule (x, y).
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@link Content}
+     */
+    public Content contentAt(final int x, final int y) {
+        return CONTENT_VALUES[contents[index(x, y)]];
+    }
+
+    /**
+     * Change le {@link Content} de la cellule (x, y), dans la {@link Cell}
+     * comme dans la couche primitive.
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @param content Nouveau contenu
+     */
+    public void setContent(final int x, final int y, final Content content) {
+        final int cellX = wrapX(x);
+        final int cellY = wrapY(y);
+        final int index = cellY * width + cellX;
+        contents[index] = (byte) content.ordinal();
+        grid[cellY][cellX].setContent(content);
+        if ((dirtyCells[index >>> WORD_SHIFT] & (1L << index)) == 0) {
+            dirtyCells[index >>> WORD_SHIFT] |= 1L << index;
+            dirtyQueue[dirtyCount++] = index;
+        }
+    }
+
+    /**
+     * Retire une cellule de la file des cellules modifiées par {@link #setContent} depuis
+     * le dernier appel. Une cellule modifiée plusieurs fois n'y apparaît qu'une fois.
+     * @return {@code int} indice {@code y * width + x} de la cellule,
+     * {@link #NO_DIRTY_CELL} si la file est vide
+     */
+    public int pollDirtyCell() {
+        if (dirtyCount == 0) {
+            return NO_DIRTY_CELL;
+        }
+        final int index = dirtyQueue[--dirtyCount];
+        dirtyCells[index >>> WORD_SHIFT] &= ~(1L << index);
+        return index;
+    }
+
+    /** Vide la file des cellules modifiées (lorsque toute la carte est redessinée). */
+    public void clearDirtyCells() {
+        Arrays.fill(dirtyCells, 0L);
+        dirtyCount = 0;
+    }
+
+    /**
+     * Méthode qui retourne le mode de ciblage des {@link Ghost} indiqué par la clé
+     * {@code "targeting"} du bloc {@code "config"} ({@code "EUCLIDEAN"} ou {@code "PATH"}).
+     * @param config Bloc {@code "config"} de la carte (cf {@link #getMapConfig(String)}).
+     * @return {@link TargetingMode}, {@link TargetingMode#EUCLIDEAN} si absent ou inconnu.
+     */
+    public static TargetingMode getTargetingMode(final JSONObject config) {
+        try {
+            return TargetingMode.valueOf(config.optString("targeting", "EUCLIDEAN"));
+        } catch (IllegalArgumentException e) {
             e.printStackTrace();
         }
-        return new int[0];
+        return TargetingMode.EUCLIDEAN;
+    }
+
+    /**
+     * Renvoie l'indice de la cellule (x, y) dans les champs de distances
+     * (cf {@link #getDistanceField(int, int)}), en ramenant les coordonnées dans la carte.
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@code int}
+     */
+    public int cellIndex(final int x, final int y) {
+        return index(x, y);
+    }
+
+    /**
+     * Renvoie le champ de distances vers la cellule (x, y) : pour chaque cellule (indice
+     * {@link #cellIndex(int, int)}), le nombre de cases qu'un {@link Ghost} doit parcourir
+     * pour atteindre la cible, ou -1 si elle est inaccessible. Le tableau est partagé et
+     * ne doit pas être modifié.
+     * @param x Abscisse de la cible
+     * @param y Ordonnée de la cible
+     * @return {@code int[]}, ou {@code null} si la cible est hors de la carte
+     */
+    public int[] getDistanceField(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+        return distanceFields.get(x, y);
     }
 
     /**
@@ -262,6 +737,17 @@ public final class MazeConfig {
         return new MazeConfig(coop, "Level1", false, 0, 0, false);
     }
 
+    /**
+     * Retourne un {@link MazeConfig} dont les fantômes tirent leurs directions de
+     * {@code random}.
+     * @param coop {@code true}si en mode Coop
+     * @param random Source d'aléatoire de la partie
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig classicalConfig(final boolean coop, final RandomSource random) {
+        return new MazeConfig(coop, "Level1", Origin.FILE, 0, 0, null, random);
+    }
+
     /**
      * Retourne un {@link MazeConfig} pour le mode Endless.
      * @param coop {@code true}si en coop
@@ -273,6 +759,35 @@ public final class MazeConfig {
         return new MazeConfig(coop, "Level1", true, width, height, false);
     }
 
+    /**
+     * Retourne un {@link MazeConfig} pour le mode Endless avec un nombre de fantômes
+     * de chaque type donné (variantes avec beaucoup de fantômes).
+     * @param coop {@code true}si en coop
+     * @param width {@code int}largeur de la carte
+     * @param height {@code int}longueur de la carte
+     * @param ghostMix Nombre de fantômes de chaque type, indexé par {@link GhostType#ordinal()}
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig endlessConfig(final boolean coop, final int width, final int height,
+            final int[] ghostMix) {
+        return new MazeConfig(coop, "Level1", true, width, height, false, ghostMix);
+    }
+
+    /**
+     * Retourne un {@link MazeConfig} pour le mode Endless dont la carte et les fantômes
+     * sont tirés de {@code random} : la même graine donne la même carte.
+     * @param coop {@code true}si en coop
+     * @param width {@code int}largeur de la carte
+     * @param height {@code int}longueur de la carte
+     * @param ghostMix Nombre de fantômes de chaque type, {@code null} pour celui par défaut
+     * @param random Source d'aléatoire de la partie
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig endlessConfig(final boolean coop, final int width, final int height,
+            final int[] ghostMix, final RandomSource random) {
+        return new MazeConfig(coop, "Level1", Origin.GENERATED, width, height, ghostMix, random);
+    }
+
     /**
      * Retourne un {@link MazeConfig} pour le mode Endless.
      * @param coop {@code true}si en coop
@@ -282,6 +797,58 @@ public final class MazeConfig {
         return new MazeConfig(coop, "Level1", true, 0, 0, true);
     }
 
+    /**
+     * Retourne un {@link MazeConfig} pour recommencer la dernière carte Endless, avec
+     * des fantômes tirés de {@code random}.
+     * @param coop {@code true}si en coop
+     * @param random Source d'aléatoire de la partie
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig restartedEndlessConfig(final boolean coop,
+            final RandomSource random) {
+        return new MazeConfig(coop, "Level1", Origin.RESTARTED, 0, 0, null, random);
+    }
+
+    /**
+     * Retourne un {@link MazeConfig} pour le mode Endless sur une carte déjà générée
+     * (ex : relecture d'une partie enregistrée).
+     * @param coop {@code true}si en coop
+     * @param map Carte telle que générée (cf {@link #getEndlessMap()}), qui ne doit plus
+     * être utilisée ensuite
+     * @param ghostMix Nombre de fantômes de chaque type, indexé par {@link GhostType#ordinal()}
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig endlessConfig(final boolean coop, final Cell[][] map,
+            final int[] ghostMix) {
+        endlessMap = map;
+        return new MazeConfig(coop, "Level1", true, 0, 0, true, ghostMix);
+    }
+
+    /**
+     * Retourne un {@link MazeConfig} pour le mode Endless sur une carte générée d'avance
+     * avec sa graine (cf {@link config.mazeGen.MazePrefetcher}) : les fantômes tirent leurs
+     * directions de cette graine, qui redonne la même partie.
+     * @param coop {@code true}si en coop
+     * @param maze Carte et graine, la carte ne doit plus être utilisée ensuite
+     * @param ghostMix Nombre de fantômes de chaque type, {@code null} pour celui par défaut
+     * @return {@link MazeConfig}
+     */
+    public static MazeConfig endlessConfig(final boolean coop, final SeededMaze maze,
+            final int[] ghostMix) {
+        endlessMap = maze.maze();
+        return new MazeConfig(coop, "Level1", Origin.PREFETCHED, 0, 0, ghostMix,
+            maze.random());
+    }
+
+    /**
+     * Renvoie la dernière carte générée en Endless, avant les vérifications de
+     * {@link MapVerification} : elle ne doit pas être modifiée.
+     * @return {@code Cell[][]}, {@code null} si aucune carte n'a été générée
+     */
+    public static Cell[][] getEndlessMap() {
+        return endlessMap;
+    }
+
     /**
      * Renvoie le nombre total de PacGomme.
      * @return {@code int}
@@ -333,10 +900,38 @@ public final class MazeConfig {
         return pacman2 != null;
     }
 
+    public boolean isEndless() {
+        return endless;
+    }
+
+    public RandomSource getRandom() {
+        return random;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * Renvoie le nombre de fantômes de chaque type.
+     * @return {@code int[]} indexé par {@link GhostType#ordinal()}
+     */
+    public int[] getGhostCounts() {
+        return ghostCounts.clone();
+    }
+
     public Cell[][] getGrid() {
         return grid;
     }
 
+    public TargetingMode getTargetingMode() {
+        return targetingMode;
+    }
+
+    public void setTargetingMode(final TargetingMode targetingMode) {
+        this.targetingMode = targetingMode;
+    }
+
     public int[] getGhostStateSwap() {
         return ghostStateSwap;
     }
@@ -361,12 +956,16 @@ public final class MazeConfig {
         return ghostList;
     }
 
+    public GhostTable getGhostTable() {
+        return ghostTable;
+    }
+
     /**
      * Retourne la largeur de la grille.
      * @return {@code int}largeur
      */
     public int getWidth() {
-        return grid[0].length;
+        return width;
     }
 
     /**
@@ -374,7 +973,7 @@ public final class MazeConfig {
      * @return {@code int}hauteur
      */
     public int getHeight() {
-        return grid.length;
+        return height;
     }
 
     /**
@@ -383,9 +982,18 @@ public final class MazeConfig {
      * @return {@link Cell}
      */
     public Cell getCell(final IntCoordinates pos) {
-        int y = Math.floorMod(pos.y(), getHeight());
-        int x = Math.floorMod(pos.x(), getWidth());
-        return grid[y][x];
+        return getCell(pos.x(), pos.y());
+    }
+
+    /**
+     * Renvoie la {@link Cell} aux coordonnées données, sans allouer d'{@link IntCoordinates}.
+     * Les coordonnées en dehors de la carte sont ramenées dans la carte (tunnels).
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @return {@link Cell}
+     */
+    public Cell getCell(final int x, final int y) {
+        return grid[wrapY(y)][wrapX(x)];
     }
 
 }
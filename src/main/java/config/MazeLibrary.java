@@ -0,0 +1,375 @@
+package config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FilenameUtils;
+import org.json.JSONObject;
+
+import config.Cell.Content;
+import utils.Resources;
+
+/**
+ * Bibliothèque de cartes : un seul fichier ({@code .mazelib}) contenant un index puis les
+ * cartes au format {@link BinaryMaze}, chacune suivie de son bloc {@code "config"} JSON en
+ * UTF-8 (cf {@link MazeConfig#getMapConfig(String)}).
+ * <pre>
+ * "PMLB" version nombre-de-cartes
+ * { nom offset taille taille-config largeur hauteur pac-gommes crc32 }*
+ * { carte config }...
+ * </pre>
+ * <p>Ouvrir une bibliothèque ne lit que l'index (cf {@link #getEntries()}) : le fichier
+ * est projeté en mémoire avec {@link FileChannel#map} et une carte n'est décodée que
+ * lorsqu'elle est demandée ({@link #getMaze(String)}). Les dernières cartes décodées sont
+ * gardées dans un cache LRU de {@link #getCapacity()} cartes.
+ */
+public final class MazeLibrary {
+    /** Extension des fichiers de bibliothèque. */
+    public static final String EXTENSION = "mazelib";
+    /** Premiers octets d'un fichier de bibliothèque ("PMLB"). */
+    private static final int MAGIC = 0x504D4C42;
+    private static final int VERSION = 2;
+    /** Nombre de cartes décodées gardées par défaut. */
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_NAME = 0xFFFF;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /** Bibliothèques des ressources (cf {@link Resources#getMazeLibraryFiles()}). */
+    private static List<MazeLibrary> resourceLibraries;
+
+    /**
+     * Description d'une carte dans l'index.
+     * @param name Nom de la carte
+     * @param offset Position de la carte dans le fichier
+     * @param length Taille de la carte en octets, en-tête compris
+     * @param configLength Taille du bloc {@code "config"} en octets, 0 si la carte n'en a pas
+     * @param width Largeur de la carte
+     * @param height Hauteur de la carte
+     * @param dots Nombre de pac-gommes et de super pac-gommes
+     * @param checksum CRC32 des octets de la carte et de son bloc {@code "config"}
+     */
+    public record Entry(String name, long offset, int length, int configLength, int width,
+        int height, int dots, int checksum) { }
+
+    /** Contenu du fichier, projeté en mémoire. */
+    private final ByteBuffer data;
+    /** Index, dans l'ordre du fichier. */
+    private final Map<String, Entry> entries;
+    private final int capacity;
+    /** Cartes décodées, de la moins récemment utilisée à la plus récente. */
+    private final LinkedHashMap<String, Cell[][]> cache;
+
+    private MazeLibrary(final ByteBuffer data, final Map<String, Entry> entries,
+    final int capacity) {
+        this.data = data;
+        this.entries = entries;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(capacity, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Cell[][]> eldest) {
+                return size() > MazeLibrary.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Ouvre une bibliothèque avec un cache de taille par défaut.
+     * @param file Fichier de la bibliothèque
+     * @return {@link MazeLibrary}
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public static MazeLibrary open(final Path file) throws IOException {
+        return open(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Ouvre une bibliothèque : seul l'index est lu. Le fichier est projeté en mémoire quand
+     * le système de fichiers le permet (lu en entier sinon, par exemple dans le jar).
+     * @param file Fichier de la bibliothèque
+     * @param capacity Nombre de cartes décodées gardées
+     * @return {@link MazeLibrary}
+     * @throws IOException si le fichier ne peut pas être lu
+     * @throws IllegalArgumentException si le fichier n'est pas une bibliothèque valide
+     */
+    public static MazeLibrary open(final Path file, final int capacity) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (UnsupportedOperationException e) {
+            data = ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+        if (data.remaining() < Integer.BYTES + Byte.BYTES + Integer.BYTES
+            || data.getInt() != MAGIC) {
+            throw new IllegalArgumentException("pas une bibliothèque de cartes : " + file);
+        }
+        final int version = data.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("version de bibliothèque inconnue : " + version);
+        }
+        final int count = data.getInt();
+        final Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            final byte[] name = new byte[Short.toUnsignedInt(data.getShort())];
+            data.get(name);
+            final Entry entry = new Entry(new String(name, StandardCharsets.UTF_8),
+                data.getLong(), data.getInt(), data.getInt(),
+                Short.toUnsignedInt(data.getShort()), Short.toUnsignedInt(data.getShort()),
+                data.getInt(), data.getInt());
+            entries.put(entry.name(), entry);
+        }
+        return new MazeLibrary(data, Collections.unmodifiableMap(entries), capacity);
+    }
+
+    /**
+     * Renvoie la bibliothèque des ressources contenant la carte. Les bibliothèques sont
+     * ouvertes au premier appel.
+     * @param name Nom de la carte
+     * @return {@link MazeLibrary}, {@code null} si aucune ne contient la carte
+     */
+    public static synchronized MazeLibrary find(final String name) {
+        if (resourceLibraries == null) {
+            resourceLibraries = new ArrayList<>();
+            for (Path file : Resources.getMazeLibraryFiles()) {
+                try {
+                    resourceLibraries.add(open(file));
+                } catch (IOException | IllegalArgumentException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        for (MazeLibrary library : resourceLibraries) {
+            if (library.contains(name)) {
+                return library;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Renvoie vrai si la bibliothèque contient une carte de ce nom.
+     * @param name Nom de la carte
+     * @return {@code boolean}
+     */
+    public boolean contains(final String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Renvoie la description d'une carte, sans la décoder.
+     * @param name Nom de la carte
+     * @return {@link Entry}, {@code null} si la carte n'existe pas
+     */
+    public Entry getEntry(final String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Renvoie l'index de la bibliothèque, dans l'ordre du fichier.
+     * @return {@code List<Entry>}
+     */
+    public List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Renvoie une copie de la carte, décodée au premier appel puis gardée dans le cache.
+     * @param name Nom de la carte
+     * @return {@code Cell[][]}, {@code null} si la carte n'existe pas
+     * @throws IllegalArgumentException si la carte ne correspond pas à son CRC32
+     */
+    public synchronized Cell[][] getMaze(final String name) {
+        final Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        Cell[][] maze = cache.get(name);
+        if (maze == null) {
+            maze = BinaryMaze.decode(verified(entry).limit(entry.length()));
+            cache.put(name, maze);
+        }
+        return copy(maze);
+    }
+
+    /**
+     * Renvoie le bloc {@code "config"} d'une carte, lu à chaque appel : il n'est demandé
+     * qu'une fois par chargement de carte.
+     * @param name Nom de la carte
+     * @return {@code JSONObject}, vide si la carte n'a pas de bloc {@code "config"},
+     * {@code null} si la carte n'existe pas
+     * @throws IllegalArgumentException si la carte ne correspond pas à son CRC32
+     */
+    public JSONObject getConfig(final String name) {
+        final Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.configLength() == 0) {
+            return new JSONObject();
+        }
+        final ByteBuffer bytes = verified(entry).position(entry.length());
+        return new JSONObject(StandardCharsets.UTF_8.decode(bytes).toString());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Renvoie le nombre de cartes décodées gardées dans le cache.
+     * @return {@code int}
+     */
+    public synchronized int getCachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Ecrit une bibliothèque contenant les cartes données, dans leur ordre.
+     * @param mazes Cartes, par nom
+     * @param configs Blocs {@code "config"} des cartes, par nom (une carte absente n'en a pas)
+     * @param file Fichier de destination
+     * @throws IOException si le fichier ne peut pas être écrit
+     */
+    public static void write(final Map<String, Cell[][]> mazes,
+    final Map<String, JSONObject> configs, final Path file) throws IOException {
+        final List<byte[]> names = new ArrayList<>();
+        final List<byte[]> blobs = new ArrayList<>();
+        final List<byte[]> blobConfigs = new ArrayList<>();
+        int indexSize = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+        int dataSize = 0;
+        for (Map.Entry<String, Cell[][]> maze : mazes.entrySet()) {
+            final byte[] name = maze.getKey().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME) {
+                throw new IllegalArgumentException("nom trop long : " + maze.getKey());
+            }
+            final JSONObject config = configs.get(maze.getKey());
+            final byte[] blob = BinaryMaze.encode(maze.getValue());
+            final byte[] blobConfig = config == null
+                ? new byte[0] : config.toString().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            blobs.add(blob);
+            blobConfigs.add(blobConfig);
+            //CHECKSTYLE:OFF
+            indexSize += Short.BYTES + name.length + Long.BYTES + 5 * Integer.BYTES;
+            //CHECKSTYLE:ON
+            dataSize += blob.length + blobConfig.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(indexSize + dataSize);
+        buffer.putInt(MAGIC).put((byte) VERSION).putInt(mazes.size());
+        long offset = indexSize;
+        int i = 0;
+        for (Cell[][] maze : mazes.values()) {
+            final byte[] blob = blobs.get(i);
+            final byte[] blobConfig = blobConfigs.get(i);
+            final CRC32 crc = new CRC32();
+            crc.update(blob);
+            crc.update(blobConfig);
+            buffer.putShort((short) names.get(i).length).put(names.get(i))
+                .putLong(offset).putInt(blob.length).putInt(blobConfig.length)
+                .putShort((short) (maze.length == 0 ? 0 : maze[0].length))
+                .putShort((short) maze.length)
+                .putInt(countDots(maze)).putInt((int) crc.getValue());
+            offset += blob.length + blobConfig.length;
+            i++;
+        }
+        for (int j = 0; j < blobs.size(); j++) {
+            buffer.put(blobs.get(j)).put(blobConfigs.get(j));
+        }
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * Crée une bibliothèque à partir de cartes JSON ou {@code .maze} ; le nom d'une carte
+     * est celui de son fichier sans extension. Le bloc {@code "config"} d'une carte
+     * {@code .maze} est celui du fichier JSON de même nom à côté d'elle, s'il existe.
+     * @param args Fichier de destination, puis fichiers des cartes
+     * @throws IOException si un fichier ne peut pas être lu ou écrit
+     */
+    public static void main(final String[] args) throws IOException {
+        final Map<String, Cell[][]> mazes = new LinkedHashMap<>();
+        final Map<String, JSONObject> configs = new LinkedHashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            final Path file = Path.of(args[i]);
+            final String name = FilenameUtils.getBaseName(file.getFileName().toString());
+            Path json = file;
+            if (BinaryMaze.EXTENSION.equals(FilenameUtils.getExtension(args[i]))) {
+                mazes.put(name, BinaryMaze.read(file));
+                json = file.resolveSibling(name + ".json");
+            }
+            if (Files.exists(json)) {
+                final String content = Resources.readFileToString(json);
+                if (json == file) {
+                    mazes.put(name, MazeConfig.parseJSONMaze(content));
+                }
+                final JSONObject config = new JSONObject(content).optJSONObject("config");
+                if (config != null) {
+                    configs.put(name, config);
+                }
+            }
+        }
+        final Path target = Path.of(args[0]);
+        write(mazes, configs, target);
+        System.out.println(target + " : " + mazes.size() + " cartes, " + Files.size(target)
+            + " octets");
+    }
+
+    /**
+     * Renvoie une copie de la carte : les cellules sont modifiées pendant la partie.
+     * @param maze Carte
+     * @return {@code Cell[][]}
+     */
+    private static Cell[][] copy(final Cell[][] maze) {
+        final Cell[][] copy = new Cell[maze.length][];
+        for (int y = 0; y < maze.length; y++) {
+            copy[y] = new Cell[maze[y].length];
+            for (int x = 0; x < maze[y].length; x++) {
+                copy[y][x] = new Cell(maze[y][x]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Compte les pac-gommes et super pac-gommes (cf {@link MazeConfig#countPacGomme()}).
+     * @param maze Carte
+     * @return {@code int}
+     */
+    private static int countDots(final Cell[][] maze) {
+        int count = 0;
+        for (Cell[] line : maze) {
+            for (Cell cell : line) {
+                final Content content = cell.getContent();
+                count += content == Content.DOT || content == Content.ENERGIZER ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Renvoie les octets d'une carte suivis de son bloc {@code "config"}, après avoir
+     * vérifié leur CRC32.
+     * @param entry Carte
+     * @return {@code ByteBuffer}
+     * @throws IllegalArgumentException si les octets ne correspondent pas au CRC32
+     */
+    private ByteBuffer verified(final Entry entry) {
+        final ByteBuffer bytes = data.slice((int) entry.offset(),
+            entry.length() + entry.configLength());
+        final CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate());
+        if ((int) crc.getValue() != entry.checksum()) {
+            throw new IllegalArgumentException("carte corrompue : " + entry.name());
+        }
+        return bytes;
+    }
+}
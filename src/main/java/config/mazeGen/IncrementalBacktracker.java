@@ -0,0 +1,345 @@
+package config.mazeGen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import config.mazeGen.MainGrid.BuildState;
+
+/**
+ * Backtracking de {@link MazeGenerator} ({@link MazeGenerator.Backtracking#INCREMENTAL}) qui
+ * tient à jour ce que la version de base recalcule en parcourant tout le terrain à chaque
+ * pose :
+ * <ul>
+ * <li>le nombre de cellules libres, au total, par ligne et par colonne : la validité du
+ * terrain et la prochaine case à remplir se lisent sans parcourir le terrain ;</li>
+ * <li>seules les cellules autour d'une pièce posée ou retirée sont recalculées
+ * (murs impossibles) ;</li>
+ * <li>les pièces posées sont gardées dans une liste : retirer une pièce ne parcourt que
+ * ses cellules ;</li>
+ * <li>la case à remplir est cherchée une fois par étape, pas une fois par pièce essayée,
+ * et une étape sans pièce possible est abandonnée sans descendre plus loin.</li>
+ * </ul>
+ * <p>Les pièces sont essayées dans le même ordre et avec les mêmes tirages que
+ * {@link MazeGenerator.Backtracking#FULL_SCAN} : une graine donne la même carte avec les
+ * deux versions.
+ */
+final class IncrementalBacktracker {
+    /** Nombre de cellules du spawn dans un terrain valide. */
+    private static final int SPAWN_CELLS = 10;
+    /** Ligne des pièces posées sous le spawn, par rapport au milieu du terrain. */
+    private static final int BELOW_SPAWN_WALL = 3;
+    /** Valeurs gardées par pièce posée : numéro, ligne, colonne, hauteur, longueur. */
+    private static final int FIELDS = 5;
+    private static final int ROW = 1;
+    private static final int COL = 2;
+    private static final int ROWS = 3;
+    private static final int COLS = 4;
+    private static final int INITIAL_PIECES = 64;
+
+    /** Moitié gauche du terrain, modifiée sur place. */
+    private final int[][] grid;
+    private final int height;
+    private final int width;
+    private final RandomGenerator random;
+    /** Nombre de cellules libres (0) par ligne et par colonne. */
+    private final int[] rowZeros;
+    private final int[] colZeros;
+    private int zeroCount = 0;
+    private int spawnCount = 0;
+    /** Numéro de la prochaine pièce posée. */
+    private int currentPiece;
+    private boolean finished = false;
+    /** Pièces posées, {@link #FIELDS} valeurs par pièce. */
+    private int[] placed = new int[INITIAL_PIECES * FIELDS];
+    private int placedCount = 0;
+
+    /**
+     * Constructeur d'une recherche sur un terrain de base (bordure, spawn, tunnels et murs
+     * impossibles déjà posés).
+     * @param grid Moitié gauche du terrain
+     * @param random Générateur de la carte
+     * @param currentPiece Numéro de la prochaine pièce posée
+     */
+    IncrementalBacktracker(final int[][] grid, final RandomGenerator random,
+    final int currentPiece) {
+        this.grid = grid;
+        this.height = grid.length;
+        this.width = grid[0].length;
+        this.random = random;
+        this.currentPiece = currentPiece;
+        this.rowZeros = new int[height];
+        this.colZeros = new int[width];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (grid[i][j] == MainGrid.NOTHING) {
+                    zeroCount++;
+                    rowZeros[i]++;
+                    colZeros[j]++;
+                } else if (grid[i][j] == MainGrid.SPAWN_INT) {
+                    spawnCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pose des pièces jusqu'à obtenir un terrain valide, ou jusqu'à avoir tout essayé.
+     * @return {@code boolean} Vrai si le terrain est valide.
+     */
+    boolean solve() {
+        backtrack(BuildState.BELOWSPAWN);
+        return finished;
+    }
+
+    /**
+     * Etape du backtracking : essaie chaque pièce possible à la prochaine case libre.
+     * @param state Etape de la génération
+     */
+    private void backtrack(final BuildState state) {
+        MazeGenerator.checkInterrupted();
+        if (isValidMaze()) {
+            finished = true;
+            return;
+        }
+        final int first;
+        if (state == BuildState.BELOWSPAWN) {
+            first = MainGrid.SPAWN_PIECE;
+        } else if (state == BuildState.MIDDLEMAP) {
+            first = MainGrid.MIDDLE_PIECE;
+        } else {
+            first = MainGrid.FREE_PIECE;
+        }
+        if (currentPiece < first) {
+            currentPiece = first;
+        }
+        final ArrayList<String> domain = possibles(state);
+        if (domain.isEmpty()) {
+            return;
+        }
+        for (String piece : domain) {
+            addPiece(piece, state);
+            if (state == BuildState.BELOWSPAWN) {
+                backtrack(BuildState.MIDDLEMAP);
+            } else if (state == BuildState.MIDDLEMAP) {
+                backtrack(colZeros[0] > 0 ? BuildState.MIDDLEMAP : BuildState.FREE);
+            } else {
+                backtrack(BuildState.FREE);
+            }
+            if (finished) {
+                return;
+            }
+            removePiece();
+        }
+    }
+
+    /**
+     * Equivalent de {@link MainGrid#isValidMaze} à partir des compteurs.
+     * @return {@code boolean} Vraie si valide.
+     */
+    private boolean isValidMaze() {
+        return zeroCount == 0 && spawnCount == SPAWN_CELLS
+            && !MainGrid.hasOneColumnsOfVoid(grid);
+    }
+
+    /**
+     * Renvoie la case où la prochaine pièce de l'étape sera posée
+     * (cf {@link Piece#getFirstNumberOfGridVertical}).
+     * @param state Etape de la génération
+     * @return {@code int[]} ligne, colonne
+     */
+    private int[] slot(final BuildState state) {
+        if (state == BuildState.BELOWSPAWN) {
+            return new int[] {height / 2 + BELOW_SPAWN_WALL, 0};
+        }
+        if (state == BuildState.MIDDLEMAP) {
+            for (int j = 0; j < width; j++) {
+                if (colZeros[j] > 0) {
+                    for (int i = 0; i < height; i++) {
+                        if (grid[i][j] == MainGrid.NOTHING) {
+                            return new int[] {i, j};
+                        }
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < height; i++) {
+                if (rowZeros[i] > 0) {
+                    for (int j = 0; j < width; j++) {
+                        if (grid[i][j] == MainGrid.NOTHING) {
+                            return new int[] {i, j};
+                        }
+                    }
+                }
+            }
+        }
+        return new int[2];
+    }
+
+    /**
+     * Equivalent de {@link Piece#possibles} : la case est cherchée une seule fois.
+     * @param state Etape de la génération
+     * @return {@code ArrayList<String>}
+     */
+    private ArrayList<String> possibles(final BuildState state) {
+        final int[] indice = slot(state);
+        final ArrayList<String> domain = new ArrayList<>();
+        for (String piece : Piece.getPossibleGridPieces()[state.ordinal()]) {
+            if (fits(piece, indice, state)) {
+                domain.add(piece);
+            }
+        }
+        return Piece.trieAleatoire(domain, random);
+    }
+
+    /**
+     * Equivalent de {@link Piece#isAValidPiece} pour une case déjà trouvée.
+     * @param piece
+     * @param indice Case où la pièce serait posée
+     * @param state Etape de la génération
+     * @return {@code boolean} Vrai si la pièce peut être posée.
+     */
+    private boolean fits(final String piece, final int[] indice, final BuildState state) {
+        if (Piece.isOutsideMaze(grid, indice, piece)
+            || Piece.isBlockedByOtherPiece(grid, indice, piece)
+            || Piece.isBlockingFuturePiece(grid, indice, piece)
+            || state == BuildState.FREE && Piece.isMakingUnreachableSpace(grid, indice, piece)) {
+            return false;
+        }
+        final int rows = piece.charAt(0) - MainGrid.CHAR_TO_INT;
+        final int cols = piece.charAt(2) - MainGrid.CHAR_TO_INT;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (grid[indice[0] + i][indice[1] + j] > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pose une pièce à la prochaine case de l'étape et met à jour les cellules voisines.
+     * @param piece
+     * @param state Etape de la génération
+     */
+    private void addPiece(final String piece, final BuildState state) {
+        final int[] indice = slot(state);
+        final int rows = piece.charAt(0) - MainGrid.CHAR_TO_INT;
+        final int cols = piece.charAt(2) - MainGrid.CHAR_TO_INT;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                set(i + indice[0], j + indice[1], currentPiece);
+            }
+        }
+        if (placedCount == placed.length) {
+            placed = Arrays.copyOf(placed, placed.length * 2);
+        }
+        placed[placedCount++] = currentPiece;
+        placed[placedCount++] = indice[0];
+        placed[placedCount++] = indice[1];
+        placed[placedCount++] = rows;
+        placed[placedCount++] = cols;
+        updateImpossibleWall(indice[0], indice[1], rows, cols);
+        currentPiece++;
+    }
+
+    /**
+     * Retire toutes les cellules portant le numéro de la dernière pièce posée, comme
+     * {@link MazeGenerator} : une pièce recouverte ou laissée par une étape abandonnée
+     * garde son numéro.
+     */
+    private void removePiece() {
+        final int value = currentPiece - 1;
+        int kept = 0;
+        for (int k = 0; k < placedCount; k += FIELDS) {
+            if (placed[k] != value) {
+                System.arraycopy(placed, k, placed, kept, FIELDS);
+                kept += FIELDS;
+                continue;
+            }
+            final int row = placed[k + ROW];
+            final int col = placed[k + COL];
+            final int rows = placed[k + ROWS];
+            final int cols = placed[k + COLS];
+            for (int i = row; i < row + rows; i++) {
+                for (int j = col; j < col + cols; j++) {
+                    if (grid[i][j] == value) {
+                        set(i, j, MainGrid.NOTHING);
+                    }
+                }
+            }
+            updateImpossibleWall(row, col, rows, cols);
+        }
+        placedCount = kept;
+        currentPiece--;
+    }
+
+    /**
+     * Recalcule les murs impossibles (cf {@link MazeGenerator}) autour d'un rectangle : les
+     * autres cellules n'ont aucun voisin modifié.
+     * @param row Première ligne du rectangle
+     * @param col Première colonne du rectangle
+     * @param rows Hauteur du rectangle
+     * @param cols Longueur du rectangle
+     */
+    private void updateImpossibleWall(final int row, final int col, final int rows,
+    final int cols) {
+        final int maxI = Math.min(height - 1, row + rows);
+        final int maxJ = Math.min(width - 1, col + cols);
+        for (int i = Math.max(0, row - 1); i <= maxI; i++) {
+            for (int j = Math.max(0, col - 1); j <= maxJ; j++) {
+                if (grid[i][j] == MainGrid.NOTHING || grid[i][j] == MainGrid.DOT) {
+                    set(i, j, isNextToWall(i, j) ? MainGrid.DOT : MainGrid.NOTHING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renvoie vrai si une des 8 cellules voisines est un mur.
+     * @param row
+     * @param col
+     * @return {@code boolean}
+     */
+    private boolean isNextToWall(final int row, final int col) {
+        final int maxI = Math.min(height - 1, row + 1);
+        final int maxJ = Math.min(width - 1, col + 1);
+        for (int i = Math.max(0, row - 1); i <= maxI; i++) {
+            for (int j = Math.max(0, col - 1); j <= maxJ; j++) {
+                if (grid[i][j] >= MainGrid.OUTER) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Modifie une cellule en tenant les compteurs à jour.
+     * @param row
+     * @param col
+     * @param value Nouvelle valeur
+     */
+    private void set(final int row, final int col, final int value) {
+        final int old = grid[row][col];
+        if (old == value) {
+            return;
+        }
+        if (old == MainGrid.NOTHING) {
+            zeroCount--;
+            rowZeros[row]--;
+            colZeros[col]--;
+        } else if (value == MainGrid.NOTHING) {
+            zeroCount++;
+            rowZeros[row]++;
+            colZeros[col]++;
+        }
+        if (old == MainGrid.SPAWN_INT) {
+            spawnCount--;
+        } else if (value == MainGrid.SPAWN_INT) {
+            spawnCount++;
+        }
+        grid[row][col] = value;
+    }
+}
@@ -1,7 +1,8 @@
 package config.mazeGen;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.random.RandomGenerator;
 
 import config.Cell;
 import config.Cell.Content;
@@ -30,16 +31,16 @@ import config.Cell.Content;
  * <p>- {@code "middleWall"}, les pièces qui collent le mur intérieur et se trouvent en dessous
  * et au-dessus du spawn. (cf: moitié de map) {@code (score 40+)}.
  * <p>- {@code "freeWall"}, les pièces qui se trouvent à droite du Spawn {@code (score 50+)}.
+ * <p>Les étapes qui dépendent de l'état de la génération sont dans {@link MazeGenerator} ;
+ * {@code MainGrid} ne garde que des méthodes sans état, utilisables depuis plusieurs threads.
  * @author Henri CHIV
  */
 public final class MainGrid {
 
     // CLASSIQUE : 31x28
-    private static Random random = new Random();
-    private static final int CHAR_TO_INT = 48;
+    static final int CHAR_TO_INT = 48;
     private static final int[] MIN_MAX_HAUTEUR = {25, 51};
     private static final int[] MIN_MAX_LONGUEUR = {26, 50};
-    private static final int MAZE_GEN_DONT_LOOK_0 = 2;
 
     public enum BuildState {
         /**
@@ -60,38 +61,35 @@ public final class MainGrid {
         FREE
     }
 
-    private static int[][] grid;
-    private static BuildState buildState = BuildState.BELOWSPAWN;
-
-    private static final int NOTHING = 0;
-    private static final int DOT = 1;
+    static final int NOTHING = 0;
+    static final int DOT = 1;
     private static final int RESTRICTED_NO_DOT = 2;
     private static final int RESTRICTED_AND_DOT = 3;
     private static final int POWER_UP = 5;
-    private static final int TUNNEL = 8;
-    private static final int OUTER = 10;
+    static final int TUNNEL = 8;
+    static final int OUTER = 10;
     private static final int SPAWN_WALL_INT = 15;
-    private static final int SPAWN_INT = 19;
-
+    static final int SPAWN_INT = 19;
 
-    private static final int TUNNEL_PIECE = 20;
-    private static final int SPAWN_PIECE = 30;
-    private static final int MIDDLE_PIECE = 40;
-    private static final int FREE_PIECE = 50;
 
-    private static int currentPiece = TUNNEL_PIECE;
-    private static boolean finished = false;
+    static final int TUNNEL_PIECE = 20;
+    static final int SPAWN_PIECE = 30;
+    static final int MIDDLE_PIECE = 40;
+    static final int FREE_PIECE = 50;
 
     private MainGrid() { }
 
     // region generateGrid
 
     /**
-     * Génère le terrain de base en fonction de l'objet {@link Size} donné.
+     * Renvoie la taille de la carte générée pour une taille demandée : la hauteur est
+     * ramenée entre les bornes de {@link #getMinMaxHauteur()} et rendue impaire, la longueur
+     * entre celles de {@link #getMinMaxLongueur()} et rendue paire.
      * @param hauteur
      * @param longueur
+     * @return {@code int[]} avec int[0] = hauteur et int[1] = longueur
      */
-    public static void generateGrid(final int hauteur, final int longueur) {
+    public static int[] normaliseSize(final int hauteur, final int longueur) {
         int gridH = hauteur; // toujours impair
         if (gridH < MIN_MAX_HAUTEUR[0]) {
             gridH = MIN_MAX_HAUTEUR[0];
@@ -108,12 +106,7 @@ public final class MainGrid {
         } else if (gridL % 2 == 1) {
             gridL++;
         }
-
-        grid = new int[gridH][gridL / 2];
-        setBorder(grid);
-        generateSpawn(grid);
-        generateTunnel(grid);
-        updateImpossibleWall(grid);
+        return new int[] {gridH, gridL};
     }
 
     /**
@@ -150,78 +143,6 @@ public final class MainGrid {
         // CHECKSTYLE:ON
     }
 
-    /**
-     * Génère les tunnels de la map.
-     * @param maze
-     */
-    public static void generateTunnel(final int[][] maze) {
-        // CHECKSTYLE:OFF
-        final int[] HxL2Tunnel = new int[] {33, 30 / 2};
-        int nbTunnel = maze.length >= HxL2Tunnel[0] && maze[0].length >= HxL2Tunnel[1] ? 2 : 1;
-        ArrayList<String[]> pieces = new ArrayList<>();
-        for (String[] piece : Piece.getGridPieces().get(3)) {
-            pieces.add(piece.clone());
-        }
-        for (int i = 0; i < nbTunnel; i++) {
-            final int randomPiece = random.nextInt(pieces.size() - 1);
-            final String[] chosenPiece = pieces.get(randomPiece);
-            pieces.remove(chosenPiece);
-            final int[] dimension = new int[] {chosenPiece.length, chosenPiece[0].length()};
-            int startH;
-            if (nbTunnel == 1) {
-                startH = maze.length / 2 - 1 - ((dimension[0] - 1)/ 2);
-            } else if (nbTunnel == 2 && i == 0) {
-                startH = 5;
-            } else {
-                startH = maze.length - 5 - dimension[0];
-            }
-            final int startL = maze[0].length - dimension[1];
-            for (int j = 0; j < dimension[0]; j++) {
-                for (int k = 0; k < dimension[1]; k++) {
-                    if (chosenPiece[j].charAt(k) == '#') {
-                        maze[j + startH][k + startL] = currentPiece;
-                    } else if (chosenPiece[j].charAt(k) == '=') {
-                        maze[j + startH][k + startL] = TUNNEL;
-                    } else {
-                        maze[j + startH][k + startL] = NOTHING;
-                    }
-                }
-            }
-            currentPiece++;
-        }
-        // CHECKSTYLE:ON
-    }
-
-    /**
-     * Met à jour les cellules où les murs ne peuvent pas spawn à 100%.
-     * <p> Utile pour la détermination d'un terrain validé.
-     * @param maze
-     */
-    public static void updateImpossibleWall(final int[][] maze) {
-        final int maxH = maze.length;
-        final int maxL = maze[0].length;
-        for (int i = 0; i < maze.length; i++) {
-            for (int j = 0; j < maze[i].length; j++) {
-                if (maze[i][j] == 0 || maze[i][j] == 1) {
-                    int value = 0;
-                    boucle:
-                    for (int k = i - 1; k <= i + 1; k++) {
-                        for (int m = j - 1; m <= j + 1; m++) {
-                            if (k < 0 || k >= maxH || m < 0 || m >= maxL) {
-                                continue;
-                            }
-                            if (grid[k][m] >= OUTER) {
-                                value = DOT;
-                                break boucle;
-                            }
-                        }
-                    }
-                    maze[i][j] = value;
-                }
-            }
-        }
-    }
-
     // endregion generateGrid
 
     // region util
@@ -265,58 +186,6 @@ public final class MainGrid {
 
     // region function
 
-    /**
-     * Méthode qui ne trouve qu'une seule solution.
-     * @param maze
-     */
-    public static void backtrackOneSolution(final int[][] maze) {
-        if (isValidMaze(maze)) {
-            finished = true;
-        } else {
-            if (buildState == BuildState.BELOWSPAWN) {
-                if (currentPiece < SPAWN_PIECE) {
-                    currentPiece = SPAWN_PIECE;
-                }
-                for (String piece : Piece.possibles(grid, buildState)) {
-                    addPiece(maze, piece);
-                    buildState = BuildState.MIDDLEMAP;
-                    backtrackOneSolution(maze);
-                    if (finished) {
-                        return;
-                    }
-                    buildState = BuildState.BELOWSPAWN;
-                    removePiece(maze);
-                }
-            } else if (buildState == BuildState.MIDDLEMAP) {
-                if (currentPiece < MIDDLE_PIECE) {
-                    currentPiece = MIDDLE_PIECE;
-                }
-                for (String piece : Piece.possibles(grid, buildState)) {
-                    addPiece(maze, piece);
-                    buildState = areMiddleWallsSet(maze);
-                    backtrackOneSolution(maze);
-                    if (finished) {
-                        return;
-                    }
-                    buildState = BuildState.MIDDLEMAP;
-                    removePiece(maze);
-                }
-            } else {
-                if (currentPiece < FREE_PIECE) {
-                    currentPiece = FREE_PIECE;
-                }
-                for (String piece : Piece.possibles(grid, buildState)) {
-                    addPiece(maze, piece);
-                    backtrackOneSolution(maze);
-                    if (finished) {
-                        return;
-                    }
-                    removePiece(maze);
-                }
-            }
-        }
-    }
-
     /**
      * Méthode qui renvoie faux si les intersections du terrain(static) ne sont pas conformes.
      * @param map
@@ -335,60 +204,6 @@ public final class MainGrid {
     }
 
 
-    /**
-     * Remplace les placeholder par de vraies pièces du jeu.
-     * @param map
-     */
-    public static void putRealPiecesOnGrid(final int[][] map) {
-        //CHECKSTYLE:OFF
-        ArrayList<Integer> list = new ArrayList<>();
-        for (int i = 0; i < map.length; i++) {
-            for (int j = 0; j < map[i].length; j++) {
-                if (map[i][j] >= SPAWN_PIECE && !list.contains(map[i][j])) {
-                    list.add(map[i][j]);
-                    ArrayList<String[]> possiblesPieces =
-                        getPossibleRealPieces(map, new int[]{i, j});
-                    int randomNumber = random.nextInt(possiblesPieces.size());
-                    String[] chosenPiece = possiblesPieces.get(randomNumber).clone();
-                    if (map[i][j] > SPAWN_PIECE) {
-                        modifyPiece(chosenPiece, map[i][j] >= FREE_PIECE);
-                    }
-                    for (int k = 0; k < chosenPiece.length; k++) {
-                        for (int k2 = 0; k2 < chosenPiece[0].length(); k2++) {
-                            if (chosenPiece[k].charAt(k2) != '#'){
-                                map[i + k][j + k2] = 1;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        //CHECKSTYLE:ON
-    }
-
-    /**
-     * Méthode qui peut faire modifier la pièce avec une rotation de 180°
-     * et/ou en prenant son miroir.
-     * @param piece
-     * @param buildMiroir
-     */
-    public static void modifyPiece(final String[] piece, final boolean buildMiroir) {
-        final boolean miroir = random.nextInt(2) == 1;
-        if (buildMiroir && miroir) {
-            for (int i = 0; i < piece.length; i++) {
-                piece[i] = new StringBuilder(piece[i]).reverse().toString();
-            }
-        }
-        final boolean rotation = random.nextInt(2) == 1;
-        if (rotation) {
-            for (int i = 0; i < (piece.length - 1) / 2; i++) {
-                String tmp = piece[i];
-                piece[i] = piece[piece.length - 1 - i];
-                piece[piece.length - 1 - i] = tmp;
-            }
-        }
-    }
-
     /**
      * Méthode qui donne en fonction de la taille du placeholder,
      * les possibles pièces qui peut le remplacer.
@@ -397,7 +212,7 @@ public final class MainGrid {
      * @return {@code ArrayList<String[]>}
      */
     public static ArrayList<String[]> getPossibleRealPieces(final int[][] map, final int[] indice) {
-        ArrayList<ArrayList<String[]>> gridPieces = Piece.getGridPieces();
+        List<List<String[]>> gridPieces = Piece.getGridPieces();
         ArrayList<String[]> possiblesPieces = new ArrayList<>();
         final int[] sizePiece = getSizeOfPiece(map, indice);
         for (String[] piece : gridPieces.get(gridValueToInt(map[indice[0]][indice[1]]))) {
@@ -485,60 +300,6 @@ public final class MainGrid {
         // CHECKSTYLE:ON
     }
 
-    /**
-     * Ajoute de manière récusive une pièce sur le terrain.
-     * @param maze
-     * @param piece
-     */
-    public static void addPiece(final int[][] maze, final String piece) {
-        int[] indice;
-        if (buildState == BuildState.BELOWSPAWN) {
-            final int belowSpawnWall = 3;
-            indice = new int[] {(maze.length / 2) + belowSpawnWall, 0};
-        } else if (buildState == BuildState.MIDDLEMAP) {
-            indice = Piece.getFirstNumberOfGridVertical(grid, 0);
-        } else {
-            indice = Piece.getFirstNumberOfGridHorizontal(grid, 0);
-        }
-        for (int i = 0; i < (int) piece.charAt(0) - CHAR_TO_INT; i++) {
-            for (int j = 0; j < (int) piece.charAt(2) - CHAR_TO_INT; j++) {
-                maze[i + indice[0]][j + indice[1]] = currentPiece;
-            }
-        }
-        updateImpossibleWall(maze);
-        currentPiece++;
-    }
-
-    /**
-     * Retire de manière récusive une pièce sur le terrain.
-     * @param maze
-     */
-    public static void removePiece(final int[][] maze) {
-        for (int i = 0; i < maze.length; i++) {
-            for (int j = 0; j < maze[i].length; j++) {
-                if (maze[i][j] == currentPiece - 1) {
-                    maze[i][j] = 0;
-                }
-            }
-        }
-        updateImpossibleWall(maze);
-        currentPiece--;
-    }
-
-    /**
-     * Méthode qui vérifie si les murs à la première colonne ont tous été mises.
-     * @param map
-     * @return {@code boolean} Vrai si il n'y a aucune cellule libre à la première colonne.
-     */
-    public static BuildState areMiddleWallsSet(final int[][] map) {
-        for (int i = 0; i < grid.length; i++) {
-            if (map[i][0] == 0) {
-                return BuildState.MIDDLEMAP;
-            }
-        }
-        return BuildState.FREE;
-    }
-
     /**
      * Renvoie un {@code String} correspondant au type de liste.
      * @param i
@@ -593,8 +354,8 @@ public final class MainGrid {
     public static void printGetGridPieces() {
         int listCmpt = 0;
         int cmpt = 1;
-        ArrayList<ArrayList<String[]>> list = Piece.getGridPieces();
-        for (ArrayList<String[]> arrayList : list) {
+        List<List<String[]>> list = Piece.getGridPieces();
+        for (List<String[]> arrayList : list) {
             for (String[] string : arrayList) {
                 System.out.println("===== " + intToList(listCmpt) + " ===== " + cmpt + " =====");
                 cmpt++;
@@ -759,36 +520,18 @@ public final class MainGrid {
         return newMap;
     }
 
-    /**
-     * Remet à zero les valeurs de départ.
-     */
-    public static void resetBacktrackSettings() {
-        finished = false;
-        buildState = BuildState.BELOWSPAWN;
-        currentPiece = TUNNEL_PIECE;
-    }
-
     /**
      * Méthode ultime qui renvoie une map générée aléatoirement.
+     * <p>Chaque appel utilise son propre {@link MazeGenerator} : plusieurs cartes peuvent
+     * être générées en même temps sur des threads différents.
      * @param hauteur
      * @param longueur
+     * @param random Générateur de la carte : le même état donne la même carte
      * @return {@code Cell[][]}
      */
-    public static Cell[][] createRandomMap(final int hauteur, final int longueur) {
-        Piece.initialiseGridPieces();
-        int cmpt = 0;
-        do {
-            resetBacktrackSettings();
-            generateGrid(hauteur, longueur);
-            backtrackOneSolution(grid);
-            cmpt++;
-        } while (cmpt == MAZE_GEN_DONT_LOOK_0 || !verifyEmptyCell(grid));
-        putRealPiecesOnGrid(grid);
-        placePowerUps(grid);
-        removeSpawnDotAndAddRestrictedCells(grid);
-        grid = addSpace(grid);
-        grid = buildSymmetry(grid);
-        return intGridToCellGrid(grid);
+    public static Cell[][] createRandomMap(final int hauteur, final int longueur,
+    final RandomGenerator random) {
+        return new MazeGenerator(random).generate(hauteur, longueur);
     }
 
     // endregion function
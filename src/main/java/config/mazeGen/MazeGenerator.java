@@ -0,0 +1,350 @@
+package config.mazeGen;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.random.RandomGenerator;
+
+import config.Cell;
+import config.mazeGen.MainGrid.BuildState;
+
+/**
+ * Génération d'une carte par backtracking (cf {@link MainGrid}) : tout l'état de la
+ * génération (terrain en cours, étape, numéro de la pièce courante) appartient à l'instance.
+ * <p>Les sacs de pièces ({@link Piece}) sont lus une fois et ne sont plus modifiés, deux
+ * {@code MazeGenerator} ne partagent donc rien : chaque thread peut générer sa carte avec
+ * le sien. Une instance ne génère qu'une carte à la fois.
+ */
+public final class MazeGenerator {
+    private static final int MAZE_GEN_DONT_LOOK_0 = 2;
+
+    /** Version du backtracking utilisée : les deux donnent la même carte pour une graine. */
+    public enum Backtracking {
+        /** Version de base : le terrain est parcouru en entier à chaque pose. */
+        FULL_SCAN,
+        /** Version incrémentale, cf {@link IncrementalBacktracker}. */
+        INCREMENTAL
+    }
+
+    /** Générateur de la carte : le même état donne la même carte. */
+    private final RandomGenerator random;
+    private final Backtracking backtracking;
+    /** Moitié gauche du terrain en cours de génération. */
+    private int[][] grid;
+    private BuildState buildState = BuildState.BELOWSPAWN;
+    /** Numéro de la prochaine pièce posée. */
+    private int currentPiece = MainGrid.TUNNEL_PIECE;
+    /** {@code true} dès que le backtracking a trouvé un terrain valide. */
+    private boolean finished = false;
+
+    /**
+     * Constructeur d'un générateur utilisant le backtracking incrémental.
+     * @param random Générateur aléatoire des cartes
+     */
+    public MazeGenerator(final RandomGenerator random) {
+        this(random, Backtracking.INCREMENTAL);
+    }
+
+    /**
+     * Constructeur d'un générateur.
+     * @param random Générateur aléatoire des cartes
+     * @param backtracking Version du backtracking
+     */
+    public MazeGenerator(final RandomGenerator random, final Backtracking backtracking) {
+        this.random = random;
+        this.backtracking = backtracking;
+    }
+
+    /**
+     * Génère une carte aléatoire (cf {@link MainGrid#createRandomMap}).
+     * @param hauteur
+     * @param longueur
+     * @return {@code Cell[][]}
+     */
+    public Cell[][] generate(final int hauteur, final int longueur) {
+        int cmpt = 0;
+        do {
+            checkInterrupted();
+            resetBacktrackSettings();
+            generateGrid(hauteur, longueur);
+            if (backtracking == Backtracking.INCREMENTAL) {
+                new IncrementalBacktracker(grid, random, currentPiece).solve();
+            } else {
+                backtrackOneSolution(grid);
+            }
+            cmpt++;
+        } while (cmpt == MAZE_GEN_DONT_LOOK_0 || !MainGrid.verifyEmptyCell(grid));
+        putRealPiecesOnGrid(grid);
+        MainGrid.placePowerUps(grid);
+        MainGrid.removeSpawnDotAndAddRestrictedCells(grid);
+        grid = MainGrid.addSpace(grid);
+        grid = MainGrid.buildSymmetry(grid);
+        return MainGrid.intGridToCellGrid(grid);
+    }
+
+    /**
+     * Arrête la génération si le thread a été interrompu, par exemple quand une autre
+     * tentative a déjà trouvé une carte (cf {@link SpeculativeMazeGenerator}).
+     * @throws CancellationException si le thread a été interrompu
+     */
+    static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("génération interrompue");
+        }
+    }
+
+    /**
+     * Génère le terrain de base en fonction de l'objet {@link Size} donné.
+     * @param hauteur
+     * @param longueur
+     */
+    private void generateGrid(final int hauteur, final int longueur) {
+        final int[] size = MainGrid.normaliseSize(hauteur, longueur);
+        grid = new int[size[0]][size[1] / 2];
+        MainGrid.setBorder(grid);
+        MainGrid.generateSpawn(grid);
+        generateTunnel(grid);
+        updateImpossibleWall(grid);
+    }
+
+    /**
+     * Génère les tunnels de la map.
+     * @param maze
+     */
+    private void generateTunnel(final int[][] maze) {
+        // CHECKSTYLE:OFF
+        final int[] HxL2Tunnel = new int[] {33, 30 / 2};
+        int nbTunnel = maze.length >= HxL2Tunnel[0] && maze[0].length >= HxL2Tunnel[1] ? 2 : 1;
+        ArrayList<String[]> pieces = new ArrayList<>();
+        for (String[] piece : Piece.getGridPieces().get(3)) {
+            pieces.add(piece.clone());
+        }
+        for (int i = 0; i < nbTunnel; i++) {
+            final int randomPiece = random.nextInt(pieces.size() - 1);
+            final String[] chosenPiece = pieces.get(randomPiece);
+            pieces.remove(chosenPiece);
+            final int[] dimension = new int[] {chosenPiece.length, chosenPiece[0].length()};
+            int startH;
+            if (nbTunnel == 1) {
+                startH = maze.length / 2 - 1 - ((dimension[0] - 1)/ 2);
+            } else if (nbTunnel == 2 && i == 0) {
+                startH = 5;
+            } else {
+                startH = maze.length - 5 - dimension[0];
+            }
+            final int startL = maze[0].length - dimension[1];
+            for (int j = 0; j < dimension[0]; j++) {
+                for (int k = 0; k < dimension[1]; k++) {
+                    if (chosenPiece[j].charAt(k) == '#') {
+                        maze[j + startH][k + startL] = currentPiece;
+                    } else if (chosenPiece[j].charAt(k) == '=') {
+                        maze[j + startH][k + startL] = MainGrid.TUNNEL;
+                    } else {
+                        maze[j + startH][k + startL] = MainGrid.NOTHING;
+                    }
+                }
+            }
+            currentPiece++;
+        }
+        // CHECKSTYLE:ON
+    }
+
+    /**
+     * Met à jour les cellules où les murs ne peuvent pas spawn à 100%.
+     * <p> Utile pour la détermination d'un terrain validé.
+     * @param maze
+     */
+    private void updateImpossibleWall(final int[][] maze) {
+        final int maxH = maze.length;
+        final int maxL = maze[0].length;
+        for (int i = 0; i < maze.length; i++) {
+            for (int j = 0; j < maze[i].length; j++) {
+                if (maze[i][j] == 0 || maze[i][j] == 1) {
+                    int value = 0;
+                    boucle:
+                    for (int k = i - 1; k <= i + 1; k++) {
+                        for (int m = j - 1; m <= j + 1; m++) {
+                            if (k < 0 || k >= maxH || m < 0 || m >= maxL) {
+                                continue;
+                            }
+                            if (grid[k][m] >= MainGrid.OUTER) {
+                                value = MainGrid.DOT;
+                                break boucle;
+                            }
+                        }
+                    }
+                    maze[i][j] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Remet à zero les valeurs de départ.
+     */
+    private void resetBacktrackSettings() {
+        finished = false;
+        buildState = BuildState.BELOWSPAWN;
+        currentPiece = MainGrid.TUNNEL_PIECE;
+    }
+
+    /**
+     * Méthode qui ne trouve qu'une seule solution.
+     * @param maze
+     */
+    private void backtrackOneSolution(final int[][] maze) {
+        checkInterrupted();
+        if (MainGrid.isValidMaze(maze)) {
+            finished = true;
+        } else {
+            if (buildState == BuildState.BELOWSPAWN) {
+                if (currentPiece < MainGrid.SPAWN_PIECE) {
+                    currentPiece = MainGrid.SPAWN_PIECE;
+                }
+                for (String piece : Piece.possibles(grid, buildState, random)) {
+                    addPiece(maze, piece);
+                    buildState = BuildState.MIDDLEMAP;
+                    backtrackOneSolution(maze);
+                    if (finished) {
+                        return;
+                    }
+                    buildState = BuildState.BELOWSPAWN;
+                    removePiece(maze);
+                }
+            } else if (buildState == BuildState.MIDDLEMAP) {
+                if (currentPiece < MainGrid.MIDDLE_PIECE) {
+                    currentPiece = MainGrid.MIDDLE_PIECE;
+                }
+                for (String piece : Piece.possibles(grid, buildState, random)) {
+                    addPiece(maze, piece);
+                    buildState = areMiddleWallsSet(maze);
+                    backtrackOneSolution(maze);
+                    if (finished) {
+                        return;
+                    }
+                    buildState = BuildState.MIDDLEMAP;
+                    removePiece(maze);
+                }
+            } else {
+                if (currentPiece < MainGrid.FREE_PIECE) {
+                    currentPiece = MainGrid.FREE_PIECE;
+                }
+                for (String piece : Piece.possibles(grid, buildState, random)) {
+                    addPiece(maze, piece);
+                    backtrackOneSolution(maze);
+                    if (finished) {
+                        return;
+                    }
+                    removePiece(maze);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ajoute de manière récusive une pièce sur le terrain.
+     * @param maze
+     * @param piece
+     */
+    private void addPiece(final int[][] maze, final String piece) {
+        int[] indice;
+        if (buildState == BuildState.BELOWSPAWN) {
+            final int belowSpawnWall = 3;
+            indice = new int[] {(maze.length / 2) + belowSpawnWall, 0};
+        } else if (buildState == BuildState.MIDDLEMAP) {
+            indice = Piece.getFirstNumberOfGridVertical(grid, 0);
+        } else {
+            indice = Piece.getFirstNumberOfGridHorizontal(grid, 0);
+        }
+        for (int i = 0; i < (int) piece.charAt(0) - MainGrid.CHAR_TO_INT; i++) {
+            for (int j = 0; j < (int) piece.charAt(2) - MainGrid.CHAR_TO_INT; j++) {
+                maze[i + indice[0]][j + indice[1]] = currentPiece;
+            }
+        }
+        updateImpossibleWall(maze);
+        currentPiece++;
+    }
+
+    /**
+     * Retire de manière récusive une pièce sur le terrain.
+     * @param maze
+     */
+    private void removePiece(final int[][] maze) {
+        for (int i = 0; i < maze.length; i++) {
+            for (int j = 0; j < maze[i].length; j++) {
+                if (maze[i][j] == currentPiece - 1) {
+                    maze[i][j] = 0;
+                }
+            }
+        }
+        updateImpossibleWall(maze);
+        currentPiece--;
+    }
+
+    /**
+     * Méthode qui vérifie si les murs à la première colonne ont tous été mises.
+     * @param map
+     * @return {@code boolean} Vrai si il n'y a aucune cellule libre à la première colonne.
+     */
+    private BuildState areMiddleWallsSet(final int[][] map) {
+        for (int i = 0; i < grid.length; i++) {
+            if (map[i][0] == 0) {
+                return BuildState.MIDDLEMAP;
+            }
+        }
+        return BuildState.FREE;
+    }
+
+    /**
+     * Remplace les placeholder par de vraies pièces du jeu.
+     * @param map
+     */
+    private void putRealPiecesOnGrid(final int[][] map) {
+        //CHECKSTYLE:OFF
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < map.length; i++) {
+            for (int j = 0; j < map[i].length; j++) {
+                if (map[i][j] >= MainGrid.SPAWN_PIECE && !list.contains(map[i][j])) {
+                    list.add(map[i][j]);
+                    ArrayList<String[]> possiblesPieces =
+                        MainGrid.getPossibleRealPieces(map, new int[]{i, j});
+                    int randomNumber = random.nextInt(possiblesPieces.size());
+                    String[] chosenPiece = possiblesPieces.get(randomNumber).clone();
+                    if (map[i][j] > MainGrid.SPAWN_PIECE) {
+                        modifyPiece(chosenPiece, map[i][j] >= MainGrid.FREE_PIECE);
+                    }
+                    for (int k = 0; k < chosenPiece.length; k++) {
+                        for (int k2 = 0; k2 < chosenPiece[0].length(); k2++) {
+                            if (chosenPiece[k].charAt(k2) != '#'){
+                                map[i + k][j + k2] = 1;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        //CHECKSTYLE:ON
+    }
+
+    /**
+     * Méthode qui peut faire modifier la pièce avec une rotation de 180°
+     * et/ou en prenant son miroir.
+     * @param piece
+     * @param buildMiroir
+     */
+    private void modifyPiece(final String[] piece, final boolean buildMiroir) {
+        final boolean miroir = random.nextInt(2) == 1;
+        if (buildMiroir && miroir) {
+            for (int i = 0; i < piece.length; i++) {
+                piece[i] = new StringBuilder(piece[i]).reverse().toString();
+            }
+        }
+        final boolean rotation = random.nextInt(2) == 1;
+        if (rotation) {
+            for (int i = 0; i < (piece.length - 1) / 2; i++) {
+                String tmp = piece[i];
+                piece[i] = piece[piece.length - 1 - i];
+                piece[piece.length - 1 - i] = tmp;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package config.mazeGen;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+/**
+ * Génère à l'avance, sur un thread en arrière-plan, les prochaines cartes Endless de la
+ * taille choisie dans le menu Custom : lancer un niveau ne fait que prendre une carte prête
+ * (cf {@link #take(int, int)}) au lieu de la générer sur le thread JavaFX.
+ * <p>Au plus {@link #getCapacity()} cartes sont gardées ; le thread attend qu'une carte soit
+ * prise pour en générer une autre. Changer de taille ({@link #prefetch(int, int)}) oublie
+ * les cartes prêtes.
+ * <p>Chaque carte est générée à partir de sa propre graine et donnée avec elle
+ * (cf {@link SeededMaze}) : la partie utilise cette graine comme source d'aléatoire, et
+ * {@code MazeConfig.endlessConfig(coop, width, height, ghostMix, RandomSource.seeded(seed))}
+ * redonne la même carte sans passer par le prefetcher.
+ */
+public final class MazePrefetcher {
+    /** Nombre de cartes gardées d'avance. */
+    private static final int DEFAULT_CAPACITY = 3;
+
+    /** Implémentation en singleton. */
+    public static final MazePrefetcher INSTANCE = new MazePrefetcher(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    /** Cartes prêtes, de taille {@link #height} x {@link #width}. */
+    private final ArrayDeque<SeededMaze> ready = new ArrayDeque<>();
+    /** Générateur des graines des cartes, utilisé sous le verrou de la file. */
+    private final SplittableRandom seeds = new SplittableRandom();
+    /** Taille (normalisée, cf {@link MainGrid#normaliseSize}) des cartes à générer. */
+    private int height;
+    private int width;
+    /** {@code true} si des cartes doivent être générées. */
+    private boolean active = false;
+    /** Nombre de cartes prises sans attente. */
+    private long hits = 0;
+    /** Nombre de cartes générées sur le thread appelant faute de carte prête. */
+    private long misses = 0;
+    private Thread producer;
+
+    /**
+     * Constructeur d'une file vide.
+     * @param capacity Nombre de cartes gardées d'avance
+     */
+    public MazePrefetcher(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Choisit la taille des cartes à générer d'avance et démarre le thread si besoin. Les
+     * cartes prêtes d'une autre taille sont oubliées.
+     * @param hauteur Hauteur demandée
+     * @param longueur Longueur demandée
+     */
+    public synchronized void prefetch(final int hauteur, final int longueur) {
+        final int[] size = MainGrid.normaliseSize(hauteur, longueur);
+        if (active && size[0] == height && size[1] == width) {
+            return;
+        }
+        height = size[0];
+        width = size[1];
+        active = true;
+        ready.clear();
+        if (producer == null) {
+            producer = new Thread(this::produce, "maze-prefetch");
+            producer.setDaemon(true);
+            producer.setPriority(Thread.MIN_PRIORITY);
+            producer.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Renvoie une carte de la taille demandée : une carte prête si possible, sinon une carte
+     * générée tout de suite (cf {@link SpeculativeMazeGenerator}). Dans les deux cas, la
+     * génération des suivantes est relancée.
+     * @param hauteur Hauteur demandée
+     * @param longueur Longueur demandée
+     * @return {@link SeededMaze}
+     */
+    public SeededMaze take(final int hauteur, final int longueur) {
+        final SplittableRandom attemptSeeds;
+        synchronized (this) {
+            prefetch(hauteur, longueur);
+            final SeededMaze maze = ready.poll();
+            if (maze != null) {
+                hits++;
+                notifyAll();
+                return maze;
+            }
+            misses++;
+            attemptSeeds = seeds.split();
+        }
+        return SpeculativeMazeGenerator.INSTANCE.generate(hauteur, longueur, attemptSeeds);
+    }
+
+    /** Arrête la génération et oublie les cartes prêtes. */
+    public synchronized void cancel() {
+        active = false;
+        ready.clear();
+    }
+
+    /**
+     * Renvoie le nombre de cartes prêtes.
+     * @return {@code int}
+     */
+    public synchronized int getReadyCount() {
+        return ready.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Boucle du thread : génère une carte dès qu'il manque une carte prête. */
+    private void produce() {
+        try {
+            while (true) {
+                final int h;
+                final int w;
+                synchronized (this) {
+                    while (!active || ready.size() >= capacity) {
+                        wait();
+                    }
+                    h = height;
+                    w = width;
+                }
+                final long seed;
+                synchronized (this) {
+                    seed = seeds.nextLong();
+                }
+                final SeededMaze maze = generate(seed, h, w);
+                synchronized (this) {
+                    // La taille a pu changer pendant la génération.
+                    if (maze != null && active && h == height && w == width) {
+                        ready.add(maze);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Génère une carte, ou renvoie {@code null} si le générateur échoue sur cette graine
+     * (une autre graine sera essayée).
+     * @param seed Graine de la carte
+     * @param h Hauteur normalisée
+     * @param w Longueur normalisée
+     * @return {@link SeededMaze}
+     */
+    private SeededMaze generate(final long seed, final int h, final int w) {
+        try {
+            return SeededMaze.generate(seed, h, w);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
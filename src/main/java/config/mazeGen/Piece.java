@@ -1,7 +1,9 @@
 package config.mazeGen;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -10,14 +12,16 @@ import config.mazeGen.MainGrid.BuildState;
 import utils.Resources;
 
 public final class Piece {
-    private static Random random = new Random();
     private static final int CHAR_TO_INT = 48;
 
     private static final int BAG_OF_PIECES = 4;
     /** Liste des placeholders des pièces. */
-    private static String[][] possibleGridPieces = new String[BAG_OF_PIECES][];
-    /** List de toutes les pièces chargées. */
-    private static ArrayList<ArrayList<String[]>> gridPieces = new ArrayList<>();
+    private static final String[][] POSSIBLE_GRID_PIECES = new String[BAG_OF_PIECES][];
+    /**
+     * List de toutes les pièces, chargées une fois au chargement de la classe et en
+     * lecture seule ensuite : les {@link MazeGenerator} peuvent les lire en parallèle.
+     */
+    private static final List<List<String[]>> GRID_PIECES = initialiseGridPieces();
 
     private static final int BORDER_INT = 10;
 
@@ -28,32 +32,33 @@ public final class Piece {
      * Elle est utilisé par {@link MainGrid#backtrackGeneration()}.
      * @param grid
      * @param buildState
+     * @param random Générateur de la carte
      * @return {@code ArrayList<String[]>}
      */
     public static ArrayList<String> possibles(final int[][] grid,
-    final MainGrid.BuildState buildState) {
+    final MainGrid.BuildState buildState, final RandomGenerator random) {
         ArrayList<String> possibles = new ArrayList<>();
         // belowSpawnPiece
         if (buildState == BuildState.BELOWSPAWN) {
-            for (String piece : possibleGridPieces[0]) {
+            for (String piece : POSSIBLE_GRID_PIECES[0]) {
                 if (isAValidPiece(grid, piece, buildState)) {
                     possibles.add(piece);
                 }
             }
         } else if (buildState == BuildState.MIDDLEMAP) {
-            for (String piece : possibleGridPieces[1]) {
+            for (String piece : POSSIBLE_GRID_PIECES[1]) {
                 if (isAValidPiece(grid, piece, buildState)) {
                     possibles.add(piece);
                 }
             }
         } else {
-            for (String piece : possibleGridPieces[2]) {
+            for (String piece : POSSIBLE_GRID_PIECES[2]) {
                 if (isAValidPiece(grid, piece, buildState)) {
                     possibles.add(piece);
                 }
             }
         }
-        possibles = trieAleatoire(possibles);
+        possibles = trieAleatoire(possibles, random);
         return possibles;
     }
 
@@ -70,9 +75,11 @@ public final class Piece {
     /**
      * Méthode qui renvoie une liste triée aléatoire mais qui favorise les grandes pièces.
      * @param possiblesPieces
+     * @param random Générateur de la carte
      * @return ArrayList<String>
      */
-    public static ArrayList<String> trieAleatoire(final ArrayList<String> possiblesPieces) {
+    public static ArrayList<String> trieAleatoire(final ArrayList<String> possiblesPieces,
+    final RandomGenerator random) {
         ArrayList<String> list = new ArrayList<>();
         for (int i = 0; i < possiblesPieces.size(); i++) {
             if (i == 0) {
@@ -318,12 +325,12 @@ public final class Piece {
      * @param fileName
      * @param jArray
      */
-    public static void loadPossiblesPiece(final String fileName, final JSONArray jArray) {
+    private static void loadPossiblesPiece(final String fileName, final JSONArray jArray) {
         final String[] possiblePieces = new String[jArray.length()];
         for (int i = 0; i < jArray.length(); i++) {
             possiblePieces[i] = jArray.getString(i);
         }
-        possibleGridPieces[jsonToInt(fileName)] = possiblePieces;
+        POSSIBLE_GRID_PIECES[jsonToInt(fileName)] = possiblePieces;
     }
 
     /**
@@ -347,8 +354,10 @@ public final class Piece {
 
     /**
      * Initialise les pièces du jeu à partir des fichiers json du dossier.
+     * @return {@code List<List<String[]>>} un sac de pièces par fichier, non modifiable
      */
-    public static void initialiseGridPieces() {
+    private static List<List<String[]>> initialiseGridPieces() {
+        final List<List<String[]>> gridPieces = new ArrayList<>();
         try {
             final String[] jsonNames = {
                 "spawnWall", "middleWall", "freeWall", "tunnel"
@@ -373,6 +382,10 @@ public final class Piece {
         } catch (Exception e) {
             e.printStackTrace();
         }
+        for (int i = 0; i < gridPieces.size(); i++) {
+            gridPieces.set(i, Collections.unmodifiableList(gridPieces.get(i)));
+        }
+        return Collections.unmodifiableList(gridPieces);
     }
 
     /**
@@ -385,7 +398,7 @@ public final class Piece {
         final int h = 0;
         final int l = 2;
         boolean isCompatible = false;
-        for (String dimensionPiece : possibleGridPieces[jsonToInt(fileName)]) {
+        for (String dimensionPiece : POSSIBLE_GRID_PIECES[jsonToInt(fileName)]) {
             if (jArray.length() == (int) dimensionPiece.charAt(h) - CHAR_TO_INT
             && jArray.getString(0).length() == (int) dimensionPiece.charAt(l) - CHAR_TO_INT) {
                 isCompatible = true;
@@ -399,19 +412,19 @@ public final class Piece {
      */
     public static void printSizeOfPiecesBag() {
         // CHECKSTYLE:OFF
-        System.out.println("belowSpawnPieces | taille : " + gridPieces.get(0).size());
-        System.out.println("middlePieces | taille : " + gridPieces.get(1).size());
-        System.out.println("freePieces | taille : " + gridPieces.get(2).size());
-        System.out.println("tunnelPieces | taille : " + gridPieces.get(3).size());
+        System.out.println("belowSpawnPieces | taille : " + GRID_PIECES.get(0).size());
+        System.out.println("middlePieces | taille : " + GRID_PIECES.get(1).size());
+        System.out.println("freePieces | taille : " + GRID_PIECES.get(2).size());
+        System.out.println("tunnelPieces | taille : " + GRID_PIECES.get(3).size());
         // CHECKSTYLE:ON
     }
 
     public static String[][] getPossibleGridPieces() {
-        return possibleGridPieces;
+        return POSSIBLE_GRID_PIECES;
     }
 
-    public static ArrayList<ArrayList<String[]>> getGridPieces() {
-        return gridPieces;
+    public static List<List<String[]>> getGridPieces() {
+        return GRID_PIECES;
     }
 
 }
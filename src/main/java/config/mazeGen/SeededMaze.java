@@ -0,0 +1,35 @@
+package config.mazeGen;
+
+import config.Cell;
+import utils.RandomSource;
+
+/**
+ * Carte générée d'avance avec la graine de sa partie : la carte est celle que génère
+ * {@code RandomSource.seeded(seed)} (cf {@link RandomSource#getMazeRandom()}), la partie
+ * peut donc être recommencée ou rejouée à partir de {@link #random()}.
+ * @param seed Graine de la partie
+ * @param maze Carte générée
+ */
+public record SeededMaze(long seed, Cell[][] maze) {
+    /**
+     * Génère la carte d'une graine.
+     * @param seed Graine de la partie
+     * @param hauteur
+     * @param longueur
+     * @return {@link SeededMaze}
+     */
+    static SeededMaze generate(final long seed, final int hauteur, final int longueur) {
+        final RandomSource random = RandomSource.seeded(seed);
+        return new SeededMaze(seed,
+            new MazeGenerator(random.getMazeRandom()).generate(hauteur, longueur));
+    }
+
+    /**
+     * Renvoie une nouvelle source d'aléatoire de la partie (les fantômes en tirent leur
+     * graine).
+     * @return {@link RandomSource}
+     */
+    public RandomSource random() {
+        return RandomSource.seeded(seed);
+    }
+}
@@ -0,0 +1,93 @@
+package config.mazeGen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Génère une carte en lançant plusieurs tentatives en parallèle, chacune avec sa propre
+ * graine : la première carte obtenue est gardée et les autres tentatives sont interrompues.
+ * <p>Le temps de génération varie beaucoup d'une graine à l'autre ; garder la plus rapide
+ * de plusieurs tentatives réduit surtout les générations les plus longues. La carte
+ * obtenue dépend de la tentative la plus rapide ; elle est renvoyée avec sa graine
+ * (cf {@link SeededMaze}), qui la redonne sans passer par ce générateur.
+ */
+public final class SpeculativeMazeGenerator {
+    /** Implémentation en singleton, une tentative par processeur. */
+    public static final SpeculativeMazeGenerator INSTANCE =
+        new SpeculativeMazeGenerator(Runtime.getRuntime().availableProcessors());
+
+    /** Nombre de tentatives lancées par carte. */
+    private final int attempts;
+    private final ExecutorService executor;
+    /** Nombre de tentatives ayant échoué (exception du générateur). */
+    private long failures = 0;
+
+    /**
+     * Constructeur d'un générateur.
+     * @param attempts Nombre de tentatives lancées par carte (au moins 2)
+     */
+    public SpeculativeMazeGenerator(final int attempts) {
+        this.attempts = Math.max(2, attempts);
+        this.executor = Executors.newFixedThreadPool(this.attempts, task -> {
+            final Thread thread = new Thread(task, "maze-speculative");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Génère une carte : renvoie la première tentative réussie. Si toutes échouent,
+     * de nouvelles tentatives sont lancées.
+     * @param hauteur
+     * @param longueur
+     * @param seeds Générateur des graines des tentatives
+     * @return {@link SeededMaze}
+     * @throws CancellationException si le thread appelant est interrompu
+     */
+    public SeededMaze generate(final int hauteur, final int longueur,
+    final RandomGenerator seeds) {
+        while (true) {
+            final ExecutorCompletionService<SeededMaze> service =
+                new ExecutorCompletionService<>(executor);
+            final List<Future<SeededMaze>> futures = new ArrayList<>(attempts);
+            for (int i = 0; i < attempts; i++) {
+                final long seed = seeds.nextLong();
+                futures.add(service.submit(() ->
+                    SeededMaze.generate(seed, hauteur, longueur)));
+            }
+            try {
+                for (int i = 0; i < attempts; i++) {
+                    try {
+                        return service.take().get();
+                    } catch (ExecutionException e) {
+                        synchronized (this) {
+                            failures++;
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("génération interrompue");
+            } finally {
+                for (Future<SeededMaze> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+}
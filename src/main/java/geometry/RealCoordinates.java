@@ -78,10 +78,25 @@ public record RealCoordinates(double x, double y) {
      * @return {@code boolean}
      */
     public boolean haveSameNeighbours(final RealCoordinates nextPos) {
-        Set<IntCoordinates> curNeighbours = intNeighbours();
-        Set<IntCoordinates> nextNeighbours = nextPos.intNeighbours();
-        return curNeighbours.containsAll(nextNeighbours)
-            && curNeighbours.size() == nextNeighbours.size();
+        return haveSameNeighbours(x, y, nextPos.x, nextPos.y);
+    }
+
+    /**
+     * Version sans allocation de {@link #haveSameNeighbours(RealCoordinates)} :
+     * les cellules superposées sont les mêmes si les "floor" et les "ceil"
+     * des 2 positions sont égaux sur chaque axe.
+     * @param x Abscisse de la position actuelle
+     * @param y Ordonnée de la position actuelle
+     * @param nextX Abscisse de la prochaine position
+     * @param nextY Ordonnée de la prochaine position
+     * @return {@code boolean}
+     */
+    public static boolean haveSameNeighbours(final double x, final double y,
+            final double nextX, final double nextY) {
+        return (int) Math.floor(x) == (int) Math.floor(nextX)
+            && (int) Math.ceil(x) == (int) Math.ceil(nextX)
+            && (int) Math.floor(y) == (int) Math.floor(nextY)
+            && (int) Math.ceil(y) == (int) Math.ceil(nextY);
     }
 
     /**
@@ -92,42 +107,85 @@ public record RealCoordinates(double x, double y) {
      * après la téléportation.
      */
     public RealCoordinates warp(final int width, final int height) {
-        double rx = x;
-        double ry = y;
-        while (Math.round(rx) < 0) {
-            rx += width;
-        }
-        while (Math.round(ry) < 0) {
-            ry += height;
-        }
-        while (Math.round(rx) >= width) {
-            rx -= width;
+        return new RealCoordinates(warp(x, width), warp(y, height));
+    }
+
+    /**
+     * Téléportation sur un seul axe, sans allocation.
+     * @param value Coordonnée à téléporter
+     * @param size Taille de la map sur cet axe
+     * @return La coordonnée après la téléportation
+     */
+    public static double warp(final double value, final int size) {
+        double r = value;
+        while (Math.round(r) < 0) {
+            r += size;
         }
-        while (Math.round(ry) >= height) {
-            ry -= height;
+        while (Math.round(r) >= size) {
+            r -= size;
         }
-        return new RealCoordinates(rx, ry);
+        return r;
     }
+
     /**
      * Retourne une Direction calculée en fonction de 2 RealCoordinates.
      * @param end Le {@code RealCoordinates} destination
      * @return Donne la {@code Direction} de this à {@code end}
      */
     public Direction getDirectionTo(final RealCoordinates end) {
-        double deltaY = end.y() - this.y();
+        return getDirectionTo(x, y, end.x, end.y);
+    }
+
+    /**
+     * Version sans allocation de {@link #getDirectionTo(RealCoordinates)}.
+     * @param x Abscisse de départ
+     * @param y Ordonnée de départ
+     * @param endX Abscisse de destination
+     * @param endY Ordonnée de destination
+     * @return Donne la {@code Direction} de (x, y) à (endX, endY)
+     */
+    public static Direction getDirectionTo(final double x, final double y,
+            final double endX, final double endY) {
+        double deltaY = endY - y;
         if (deltaY != 0) {
             if (deltaY < 0) {
             return Direction.NORTH;
             }
             return Direction.SOUTH;
         }
-        double deltaX = end.x() - this.x();
+        double deltaX = endX - x;
         if (deltaX < 0) {
             return Direction.WEST;
         }
         return Direction.EAST;
     }
 
+    /**
+     * Version sans allocation de {@link #adjustNextPos(RealCoordinates)} pour un déplacement
+     * sur un seul axe (cas de tous les {@link Critters}) : seule la coordonnée de l'axe du
+     * déplacement est ajustée.
+     * @param cur Coordonnée actuelle sur l'axe du déplacement
+     * @param end Prochaine coordonnée sur l'axe du déplacement
+     * @return La prochaine coordonnée ajustée
+     */
+    public static double adjustNextPos(final double cur, final double end) {
+        if (end < cur) {
+            // Vers le Nord ou l'Ouest.
+            int curCell = Math.abs((int) cur);
+            final int nextCell = Math.abs((int) end);
+            if (cur % 1 == 0) {
+                curCell--;
+            }
+            if (curCell > nextCell) {
+                return 1 + end - end % 1;
+            }
+        } else if ((int) cur < (int) end) {
+            // Vers le Sud ou l'Est.
+            return end - end % 1;
+        }
+        return end;
+    }
+
     /**
      * Méthode qui renvoie un {@link RealCoordinates} où ses coordonnées on été ajustée à l'unité ou
      * par 0.5. Cette méthode est utile pour le calcul de la prochaine position pour les
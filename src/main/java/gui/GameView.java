@@ -1,39 +1,55 @@
 package gui;
 
-import geometry.IntCoordinates;
-import geometry.RealCoordinates;
-import gui.graphics.CellGraphicsFactory;
 import gui.graphics.CritterGraphicsFactory;
 import gui.graphics.GraphicsUpdater;
+import gui.graphics.MazeRenderer;
 import javafx.animation.AnimationTimer;
 import javafx.geometry.Pos;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import model.Direction;
 import model.Ghost;
 import model.MazeState;
 import model.PacMan;
-import utils.Fps;
+import model.SimulationEngine;
+import replay.Replay;
+import replay.ReplayRecorder;
+import utils.FrameMetrics;
+import utils.FrameMetrics.Phase;
 import utils.Music;
 import utils.Resources;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 public final class GameView {
     /** La carte qui sera affichée. */
     private MazeState instMaze;
+    /** Moteur qui fait avancer {@link #instMaze} par sous-pas bornés à chaque image. */
+    private SimulationEngine engine;
+    /**
+     * Enregistre la partie si la propriété {@value ReplayRecorder#FILE_PROPERTY} est
+     * définie, {@code null} sinon.
+     */
+    private ReplayRecorder recorder;
     /** {@code HBox}contenant {@link #mapBox} (barre de progression + map) et le score + vie. */
     private HBox mainBox;
     /** {@code VBox}contenant la barre de progression et la map. */
     private VBox mapBox;
     /** {@code StackPane}contenant la map et les critters. */
     private StackPane mapStack;
-    /** Map node. */
-    private GridPane mapPane;
+    /** Affichage des murs et des pac-gommes. */
+    private MazeRenderer mazeRenderer;
+    /** Fabrique des images des critters affichés, gardée pour changer leur échelle. */
+    private CritterGraphicsFactory critterFactory;
     /** L'AnimationTimer qui appelle les fonctions d'update. */
     private AnimationTimer animationTimer;
     /** Liste d'éléments à update. */
@@ -45,6 +61,21 @@ public final class GameView {
     private InGameGui inGameGui;
 
     private double timeSinceAnimationStart = 0;
+    /** Date du dernier redimensionnement pas encore affiché ({@code 0} si aucun). */
+    private long resizeStart = 0;
+    /** Durée entre le dernier redimensionnement et l'image suivante (en nanosecondes). */
+    private long resizeLatency = 0;
+
+    /** Touche qui affiche ou cache {@link #metricsOverlay}. */
+    private static final KeyCode METRICS_KEY = KeyCode.F3;
+    /** Durée entre deux mises à jour de {@link #metricsOverlay} (en nanosecondes). */
+    private static final long OVERLAY_PERIOD = 500_000_000L;
+    /** Durées des images de toutes les parties depuis le lancement du jeu. */
+    private final FrameMetrics metrics = new FrameMetrics();
+    /** {@code Text}affichant les percentiles de {@link #metrics} par-dessus la carte. */
+    private Text metricsOverlay;
+    private boolean metricsVisible = false;
+    private long overlayTimer = 0;
 
     private GameView() {
     }
@@ -62,11 +93,15 @@ public final class GameView {
         final int spacing = 100;
 
         instMaze = maze;
+        instMaze.setListener(new GameViewListener());
+        engine = new SimulationEngine(instMaze);
+        saveReplay();
+        recorder = System.getProperty(ReplayRecorder.FILE_PROPERTY) == null
+            ? null : new ReplayRecorder(engine);
         inGameGui = newInGameGui;
         mainBox = box;
         mapBox = new VBox();
         mapStack = new StackPane();
-        mapPane = new GridPane();
 
         mainBox.setAlignment(Pos.CENTER);
         mainBox.setSpacing(spacing);
@@ -77,10 +112,11 @@ public final class GameView {
         mapBox.getChildren().add(0, mapStack);
         mapBox.setFillWidth(true);
 
-        mapStack.getChildren().add(mapPane);
+        mazeRenderer = new MazeRenderer(instMaze.getConfig(), (int) scale);
+        mapStack.getChildren().add(mazeRenderer.getNode());
+        StackPane.setAlignment(mazeRenderer.getNode(), Pos.TOP_LEFT);
 
-        var critterFactory = new CritterGraphicsFactory((int) scale);
-        var cellFactory = new CellGraphicsFactory((int) scale);
+        critterFactory = new CritterGraphicsFactory((int) scale);
         graphicsUpdaters = new ArrayList<>();
         for (var critter : maze.getConfig().getCritters()) {
             if (critter instanceof PacMan) {
@@ -89,69 +125,65 @@ public final class GameView {
                 addCritterGraphics(critterFactory.makeGhostGraphics((Ghost) critter));
             }
         }
-
-        for (int x = 0; x < maze.getWidth(); x++) {
-            for (int y = 0; y < maze.getHeight(); y++) {
-                addGraphics(
-                    cellFactory.makeGraphics(maze, new IntCoordinates(x, y)),
-                    x, y
-                );
-            }
-        }
+        addMetricsOverlay();
 
         inGameGui.displayInfos(maze);
     }
 
     /**
      * Méthode appelée lorsque la hauteur de la fenêtre change.
+     * Les {@code Node} existants sont gardés : seule l'échelle de la carte (redessinée une
+     * fois), des critters et des scores change, et seulement si l'échelle entière a changé.
      */
     public void resizeGame() {
-        mapStack.getChildren().clear();
-        mapPane = new GridPane();
-        mapStack.getChildren().add(mapPane);
-
-        var critterFactory = new CritterGraphicsFactory((int) scale);
-        var cellFactory = new CellGraphicsFactory((int) scale);
-        graphicsUpdaters = new ArrayList<>();
-        for (var critter : instMaze.getConfig().getCritters()) {
-            if (critter instanceof PacMan) {
-                addCritterGraphics(critterFactory.makePacGraphics((PacMan) critter, instMaze));
-            } else {
-                addCritterGraphics(critterFactory.makeGhostGraphics((Ghost) critter));
+        resizeStart = System.nanoTime();
+        final int newScale = (int) scale;
+        if (critterFactory != null && newScale != critterFactory.getScale()) {
+            mazeRenderer.setScale(newScale);
+            critterFactory.setScale(newScale);
+
+            final int fontSize = 13 + newScale - (int) INITIAL_SCALE;
+            final Font font = Resources.getFont("small_pixel-7", fontSize);
+            for (GraphicsUpdater graphicsUpdater : InGameGui.getEatScoreUpdater()) {
+                ((Text) graphicsUpdater.getNode()).setFont(font);
             }
         }
 
-        for (int x = 0; x < instMaze.getWidth(); x++) {
-            for (int y = 0; y < instMaze.getHeight(); y++) {
-                addGraphics(
-                    cellFactory.makeGraphics(instMaze, new IntCoordinates(x, y)),
-                    x, y
-                );
-            }
-        }
+        inGameGui.resizeProgressBar();
+    }
 
-        for (GraphicsUpdater graphicsUpdater : InGameGui.getEatScoreUpdater()) {
-            final int fontSize = 13 + (int) scale - (int) INITIAL_SCALE;
-            ((Text) graphicsUpdater.getNode()).setFont(
-                Font.loadFont(Resources.getPathOrContent("small_pixel-7"), fontSize)
-            );
-            addEatScoreGraphics(graphicsUpdater);
+    /**
+     * Ajoute {@link #metricsOverlay} au-dessus de la carte, affiché ou caché par
+     * {@link #METRICS_KEY}.
+     */
+    private void addMetricsOverlay() {
+        final double fontSize = 12;
+        metricsOverlay = new Text();
+        metricsOverlay.setFont(Font.font("Monospaced", fontSize));
+        metricsOverlay.setFill(Color.WHITE);
+        metricsOverlay.setMouseTransparent(true);
+        metricsOverlay.setVisible(metricsVisible);
+        mapStack.getChildren().add(metricsOverlay);
+        StackPane.setAlignment(metricsOverlay, Pos.TOP_LEFT);
+
+        if (mainBox.getScene() != null) {
+            mainBox.getScene().addEventHandler(KeyEvent.KEY_PRESSED, keyEvent -> {
+                if (keyEvent.getCode() == METRICS_KEY) {
+                    metricsVisible = !metricsVisible;
+                    metricsOverlay.setVisible(metricsVisible);
+                    overlayTimer = OVERLAY_PERIOD;
+                }
+            });
         }
-
-        inGameGui.resizeProgressBar();
     }
 
     /**
-     * Ajoute le{@code Node}contenu dans l'{@code updater}dans {@link #mapPane} aux coordonnées
-     * {@code x}et{@code y}.
-     * @param updater {@code GraphicsUpdater}
-     * @param x {@code int}
-     * @param y {@code int}
+     * Remet l'image par défaut du {@link PacMan} à sa prochaine mise à jour.
+     * @param pacman
      */
-    public void addGraphics(final GraphicsUpdater updater, final int x, final int y) {
-        mapPane.add(updater.getNode(), x, y);
-        if (!graphicsUpdaters.contains(updater)) {
-            graphicsUpdaters.add(updater);
+    public void resetPacImage(final PacMan pacman) {
+        if (critterFactory != null) {
+            critterFactory.resetPacImage(pacman);
         }
     }
 
@@ -189,6 +221,12 @@ public final class GameView {
 
             @Override
             public void handle(final long now) {
+                final long frameStart = System.nanoTime();
+                if (resizeStart != 0) {
+                    resizeLatency = frameStart - resizeStart;
+                    metrics.record(Phase.RESIZE, resizeLatency);
+                    resizeStart = 0;
+                }
                 // Ignore le premier tick
                 if (last == 0 || InGameGui.isPaused()) {
                     last = now;
@@ -196,7 +234,12 @@ public final class GameView {
                 }
                 var deltaT = now - last;
 
-                instMaze.update(deltaT);
+                if (recorder != null) {
+                    recorder.advance(deltaT);
+                } else {
+                    engine.advance(deltaT);
+                }
+                final long simulated = System.nanoTime();
                 inGameGui.updateScore(instMaze);
                 inGameGui.updateLives(instMaze);
 
@@ -212,18 +255,34 @@ public final class GameView {
                     inGameGui.updateProgressBar(instMaze);
                 }
 
-                // Changer les boolean pour afficher les infos respectifs
-                tests(deltaT, false, null);
-
+                mazeRenderer.render(deltaT);
                 for (var updater : graphicsUpdaters) {
                     updater.update();
                 }
                 last = now;
+
+                final long rendered = System.nanoTime();
+                metrics.record(Phase.SIMULATION, simulated - frameStart);
+                metrics.record(Phase.RENDER, rendered - simulated);
+                metrics.record(Phase.FRAME, rendered - frameStart);
+                metrics.record(Phase.INTERVAL, deltaT);
+                updateMetricsOverlay(deltaT);
             }
         };
         animationTimer.start();
     }
 
+    private void updateMetricsOverlay(final long deltaT) {
+        if (!metricsVisible) {
+            return;
+        }
+        overlayTimer += deltaT;
+        if (overlayTimer >= OVERLAY_PERIOD) {
+            overlayTimer = 0;
+            metricsOverlay.setText(metrics.summary());
+        }
+    }
+
     /** Arrête l'animation. */
     public void stopAnimation() {
         if (animationTimer != null) {
@@ -233,13 +292,70 @@ public final class GameView {
 
     /** Remets à{@code null} les variables. */
     public void resetInstance() {
+        saveReplay();
         instMaze = null;
+        engine = null;
         mainBox = null;
-        mapPane = null;
+        mazeRenderer = null;
+        critterFactory = null;
+        metricsOverlay = null;
         animationTimer = null;
         graphicsUpdaters = null;
     }
 
+    /**
+     * Note une touche appuyée par un joueur si la partie est enregistrée.
+     * @param playerTwo {@code true} pour le second joueur
+     * @param direction Direction demandée, {@code null} pour une autre touche
+     */
+    public void recordInput(final boolean playerTwo, final Direction direction) {
+        if (recorder != null) {
+            recorder.input(playerTwo, direction);
+        }
+    }
+
+    /**
+     * Ecrit la partie enregistrée dans le fichier donné par la propriété
+     * {@value ReplayRecorder#FILE_PROPERTY}, puis arrête l'enregistrement.
+     */
+    public void saveReplay() {
+        if (recorder == null) {
+            return;
+        }
+        final Replay replay = recorder.finish();
+        recorder = null;
+        try {
+            replay.write(Path.of(System.getProperty(ReplayRecorder.FILE_PROPERTY)));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Renvoie le moteur de la partie affichée (sous-pas exécutés par image...).
+     * @return {@link SimulationEngine}
+     */
+    public SimulationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Renvoie la durée entre le dernier redimensionnement de la fenêtre et l'image
+     * suivante.
+     * @return {@code long} durée en nanosecondes, {@code 0} si aucun redimensionnement
+     */
+    public long getResizeLatency() {
+        return resizeLatency;
+    }
+
+    /**
+     * Renvoie les durées des images mesurées depuis le lancement du jeu.
+     * @return {@link FrameMetrics}
+     */
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
     public static double getScale() {
         return scale;
     }
@@ -252,8 +368,8 @@ public final class GameView {
         return animationTimer != null;
     }
 
-    public GridPane getMapPane() {
-        return mapPane;
+    public MazeRenderer getMazeRenderer() {
+        return mazeRenderer;
     }
 
     public VBox getMapBox() {
@@ -267,24 +383,4 @@ public final class GameView {
     public static double getInitialScale() {
         return INITIAL_SCALE;
     }
-
-    /**
-     * Méthode permettant d'obtenir les FPS, les threads et d'afficher
-     * les targets d'un fantôme spécifique.
-     * @param deltaT Durée depuis le dernier tick
-     * @param showFps {@code true}affiche les FPS
-     * @param ghostTarget Nom du{@code Ghost}
-     */
-    public void tests(final long deltaT, final boolean showFps, final Ghost ghostTarget) {
-        if (showFps) {
-            Fps.updateFps(deltaT);
-        }
-        if (ghostTarget != null) {
-            var cellFactory = new CellGraphicsFactory((int) scale);
-            if (ghostTarget.getTarget() != null) {
-                RealCoordinates target = ghostTarget.getTarget();
-                addGraphics(cellFactory.showTarget(target), 0, 0);
-            }
-        }
-    }
 }
@@ -0,0 +1,38 @@
+package gui;
+
+import model.GameListener;
+import model.Ghost;
+import model.PacMan;
+import utils.Music;
+
+/**
+ * Implémentation de {@link GameListener} utilisée en jeu : les évènements
+ * du {@link model.MazeState} sont traduits en sons et en affichage.
+ */
+public final class GameViewListener implements GameListener {
+
+    @Override
+    public void playSound(final String name) {
+        Music.playSound(name);
+    }
+
+    @Override
+    public void playLoopingBgMusic(final String name) {
+        Music.playLoopingBgMusic(name);
+    }
+
+    @Override
+    public void stopBackgroundMusic() {
+        Music.stopBackgroundMusic();
+    }
+
+    @Override
+    public void ghostEaten(final int eatScore, final Ghost ghost) {
+        InGameGui.showEatGhostPoints(eatScore, ghost);
+    }
+
+    @Override
+    public void pacManReset(final PacMan pacman) {
+        GameView.INSTANCE.resetPacImage(pacman);
+    }
+}
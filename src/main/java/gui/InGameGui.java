@@ -170,10 +170,9 @@ public final class InGameGui {
     public void updateScore(final MazeState state) {
         // Affiche le score
         scoreText.setText(String.valueOf(state.getScore()));
-        // Total : 244 pac-gommes en classique
-        if (!end && state.getEatenPacgomme() >= state.getConfig().getTotalPacGomme()) {
+        // Total : 244 pac-gommes en classique (la victoire est détectée par le MazeState)
+        if (!end && state.isWin()) {
             setEnd(true);
-            state.playerWin();
             endGameMenu = endGameMenu(true, state);
             showEndGame();
             addEndHandlers();
@@ -13,6 +13,8 @@ import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import utils.Resources;
 
+import java.io.IOException;
+
 public class Intro extends Application {
 
     /**
@@ -70,4 +72,18 @@ public class Intro extends Application {
 
         primaryStage.setOnCloseRequest(val -> Platform.exit());
     }
+
+    /**
+     * Méthode appelée à la fermeture du jeu : écrit les durées des images si la
+     * propriété {@value utils.FrameMetrics#DUMP_PROPERTY} est définie.
+     */
+    @Override
+    public void stop() {
+        GameView.INSTANCE.saveReplay();
+        try {
+            GameView.INSTANCE.getMetrics().dump();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 }
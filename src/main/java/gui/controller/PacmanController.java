@@ -7,6 +7,7 @@ import utils.Music;
 import java.util.EnumMap;
 import java.util.Map;
 
+import gui.GameView;
 import gui.InGameGui;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -50,6 +51,7 @@ public final class PacmanController extends Controller implements KeyHandlers {
             pacman.getDirectionBuffer().getBufferDirection();
         }
         pacman.getDirectionBuffer().setDirectionBufferTimer(0);
+        GameView.INSTANCE.recordInput(false, keybinds.get(event.getCode()));
     }
 
     public static Map<KeyCode, Direction> getKeybinds() {
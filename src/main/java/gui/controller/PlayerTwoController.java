@@ -2,6 +2,7 @@ package gui.controller;
 
 import java.util.EnumMap;
 
+import gui.GameView;
 import gui.InGameGui;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -55,6 +56,7 @@ public final class PlayerTwoController extends Controller implements KeyHandlers
             }
             ((Ghost) playerTwo).getDirectionBuffer().setDirectionBufferTimer(0);
         }
+        GameView.INSTANCE.recordInput(true, keybinds.get(event.getCode()));
     }
 
     public static EnumMap<KeyCode, Direction> getKeybinds() {
@@ -1,13 +1,16 @@
 package gui.graphics;
 
 import javafx.scene.Node;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import javafx.scene.image.ImageView;
+import model.Critter;
 import model.Direction;
 import model.Ghost;
 import model.MazeState;
 import model.PacMan;
 import model.Ghost.GhostState;
-import utils.Resources;
 
 public final class CritterGraphicsFactory {
     /** (Nombre d'update par seconde) / 60. */
@@ -18,8 +21,14 @@ public final class CritterGraphicsFactory {
     public static final double SIZE = 1.4;
     private static final double X_SHIFT = 0.175;
     private static final double Y_SHIFT = 0.2;
+    /** Image de l'animation de Pac-Man affichée au début et après une vie perdue. */
+    private static final int RESET_PHASE = 3;
     /** Echelle globale. */
-    private final int scale;
+    private int scale;
+    /** Images des critters à l'échelle {@link #scale}. */
+    private SpriteAtlas atlas;
+    /** Etat de l'animation de chaque critter affiché. */
+    private final Map<Critter, GraphicsBuffer> buffers = new IdentityHashMap<>();
 
     /**
      * Constructeur qui initialise le {@link scale}.
@@ -27,6 +36,46 @@ public final class CritterGraphicsFactory {
      */
     public CritterGraphicsFactory(final int newScale) {
         scale = newScale;
+        atlas = SpriteAtlas.forSize(spriteSize(newScale));
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Change l'échelle des images déjà créées par cette fabrique : les sprites de la
+     * nouvelle taille (chargés une seule fois par taille) sont affichés à leur prochaine
+     * mise à jour.
+     * @param newScale Echelle
+     */
+    public void setScale(final int newScale) {
+        scale = newScale;
+        if (atlas.getSize() != spriteSize(newScale)) {
+            atlas = SpriteAtlas.forSize(spriteSize(newScale));
+        }
+    }
+
+    /**
+     * Remet l'image par défaut du {@link PacMan} à sa prochaine mise à jour (après une vie
+     * perdue, cf {@link model.GameListener#pacManReset}).
+     * @param pacman
+     */
+    public void resetPacImage(final PacMan pacman) {
+        getBuffer(pacman).setResetPacImg(true);
+    }
+
+    /**
+     * Renvoie l'état de l'animation d'un critter, créé au premier appel.
+     * @param critter
+     * @return {@link GraphicsBuffer}
+     */
+    private GraphicsBuffer getBuffer(final Critter critter) {
+        return buffers.computeIfAbsent(critter, key -> new GraphicsBuffer());
+    }
+
+    private static int spriteSize(final int newScale) {
+        return (int) Math.round(newScale * SIZE);
     }
 
     /**
@@ -41,46 +90,44 @@ public final class CritterGraphicsFactory {
      * @return {@link GraphicsUpdater}
      */
     public GraphicsUpdater makePacGraphics(final PacMan pacman, final MazeState maze) {
+        final boolean rainbow =
+            maze.getConfig().isCoop() && pacman == maze.getConfig().getPacman2();
+        final GraphicsBuffer buffer = getBuffer(pacman);
         var image = new ImageView();
-        image.setFitWidth(scale * SIZE);
-        image.setFitHeight(scale * SIZE);
-        image.setPreserveRatio(true);
         image.setSmooth(true);
-        image.setImage(Resources.getImage(getPacManImageName(pacman, image, maze)));
+        image.setImage(atlas.getFrame(
+            SpriteAtlas.pacManSprite(rainbow, RESET_PHASE), SpriteAtlas.IDENTITY
+        ));
 
         return new GraphicsUpdater() {
+            private int sprite = SpriteAtlas.pacManSprite(rainbow, RESET_PHASE);
+            private int orientation = SpriteAtlas.IDENTITY;
+
             @Override
             public void update() {
                 image.setTranslateX(pacman.getPos().x() * scale - scale * X_SHIFT);
                 image.setTranslateY(pacman.getPos().y() * scale - scale * Y_SHIFT);
 
                 double graphicsBuffer
-                = pacman.getGraphicsBuffer().getUpdateBuffer() + UPDATE_FREQUENCY;
-                pacman.getGraphicsBuffer().setUpdateBuffer(graphicsBuffer);
+                = buffer.getUpdateBuffer() + UPDATE_FREQUENCY;
+                buffer.setUpdateBuffer(graphicsBuffer);
                 if (graphicsBuffer >= 1) {
-                    pacman.getGraphicsBuffer().setUpdateBuffer(0);
+                    buffer.setUpdateBuffer(0);
 
-                    String newImage = getPacManImageName(pacman, image, maze);
-
-                    if (!pacman.getGraphicsBuffer().isResetPacImg()
-                    && pacman.getImage().equals(newImage)) {
-                        return;
+                    if (pacman.getDirection() != Direction.NONE) {
+                        orientation = SpriteAtlas.turn(orientation, pacman.getDirection());
+                        sprite = SpriteAtlas.pacManSprite(
+                            rainbow, alternatePacPhase(buffer)
+                        );
                     }
 
-                    if (pacman.getGraphicsBuffer().isResetPacImg()) {
-                        if (maze.getConfig().isCoop() && pacman == maze.getConfig().getPacman2()) {
-                            newImage = "pacman_rainbow_3";
-                        } else {
-                            newImage = "pacman_3";
-                        }
-                        image.setRotate(0);
-                        image.setScaleX(1);
-                        pacman.getGraphicsBuffer().setResetPacImg(false);
+                    if (buffer.isResetPacImg()) {
+                        sprite = SpriteAtlas.pacManSprite(rainbow, RESET_PHASE);
+                        orientation = SpriteAtlas.IDENTITY;
+                        buffer.setResetPacImg(false);
                     }
-
-                    pacman.setImage(newImage);
-                    image.setImage(Resources.getImage(newImage));
                 }
+                image.setImage(atlas.getFrame(sprite, orientation));
             }
 
             @Override
@@ -101,14 +148,20 @@ public final class CritterGraphicsFactory {
      * @return {@link GraphicsUpdater}
      */
     public GraphicsUpdater makeGhostGraphics(final Ghost ghost) {
+        final GraphicsBuffer buffer = getBuffer(ghost);
         var image = new ImageView();
-        image.setFitWidth(scale * SIZE);
-        image.setFitHeight(scale * SIZE);
-        image.setPreserveRatio(true);
         image.setSmooth(true);
-        image.setImage(Resources.getImage(getGhostImageName(ghost, image)));
+        image.setImage(atlas.getFrame(
+            SpriteAtlas.ghostSprite(ghost.getGhostType(), SpriteAtlas.FACING_SIDE, 0),
+            SpriteAtlas.IDENTITY
+        ));
 
         return new GraphicsUpdater() {
+            private int sprite =
+                SpriteAtlas.ghostSprite(ghost.getGhostType(), SpriteAtlas.FACING_SIDE, 0);
+            /** L'image d'origine regarde vers l'Ouest : elle est retournée vers l'Est. */
+            private boolean mirrored = false;
+
             @Override
             public void update() {
                 image.setTranslateX(ghost.getPos().x() * scale - scale * X_SHIFT);
@@ -116,39 +169,40 @@ public final class CritterGraphicsFactory {
 
                 final int ratio = 3;
                 double graphicsBuffer
-                = ghost.getGraphicsBuffer().getUpdateBuffer() + UPDATE_FREQUENCY / ratio;
+                = buffer.getUpdateBuffer() + UPDATE_FREQUENCY / ratio;
                 double alternateBuffer
-                = ghost.getGraphicsBuffer().getAlternateBuffer() + ALTERNATE_FREQUENCY;
+                = buffer.getAlternateBuffer() + ALTERNATE_FREQUENCY;
 
-                ghost.getGraphicsBuffer().setUpdateBuffer(graphicsBuffer);
-                ghost.getGraphicsBuffer().setAlternateBuffer(alternateBuffer);
+                buffer.setUpdateBuffer(graphicsBuffer);
+                buffer.setAlternateBuffer(alternateBuffer);
 
-                if (!ghost.getPacman().isEnergized() && ghost.getGraphicsBuffer().isAlternate()) {
-                    ghost.getGraphicsBuffer().setAlternate(false);
+                if (!ghost.getPacman().isEnergized() && buffer.isAlternate()) {
+                    buffer.setAlternate(false);
                 }
 
-                if (ghost.getGraphicsBuffer().getUpdateBuffer() >= 1) {
-                    ghost.getGraphicsBuffer().setUpdateBuffer(0);
+                if (buffer.getUpdateBuffer() >= 1) {
+                    buffer.setUpdateBuffer(0);
 
                     if (PacMan.getEnergizedDuration() - PacMan.getEnergizedTimer() < 2
                     && alternateBuffer >= 1) {
-                        ghost.getGraphicsBuffer().setAlternateBuffer(0);
-                        ghost.getGraphicsBuffer().setAlternate(
-                            !ghost.getGraphicsBuffer().isAlternate()
+                        buffer.setAlternateBuffer(0);
+                        buffer.setAlternate(
+                            !buffer.isAlternate()
                         );
                     } else if (PacMan.getEnergizedTimer() < 1) {
-                        ghost.getGraphicsBuffer().setAlternate(false);
+                        buffer.setAlternate(false);
                     }
 
-                    String newImage = getGhostImageName(ghost, image);
-
-                    if (ghost.getImage().equals(newImage)) {
-                        return;
+                    if (ghost.getDirection() == Direction.EAST) {
+                        mirrored = true;
+                    } else if (ghost.getDirection() == Direction.WEST) {
+                        mirrored = false;
                     }
-
-                    ghost.setImage(newImage);
-                    image.setImage(Resources.getImage(newImage));
+                    sprite = getGhostSprite(ghost);
                 }
+                image.setImage(atlas.getFrame(
+                    sprite, mirrored ? SpriteAtlas.MIRRORED : SpriteAtlas.IDENTITY
+                ));
             }
 
             @Override
@@ -158,23 +212,6 @@ public final class CritterGraphicsFactory {
         };
     }
 
-    /**
-     * Méthode renvoyant le nom de l'image pour le {@link PacMan}.
-     * L'image de Pac-Man dépendra de son orientation actuelle.
-     * @param pacman Un {@link PacMan}
-     * @param image L'{@code ImageView}
-     * @param maze {@link MazeState}
-     * @return {@code String} du nom de l'image
-     */
-    private String getPacManImageName(
-    final PacMan pacman, final ImageView image, final MazeState maze) {
-        if (pacman.getDirection() == Direction.NONE) {
-            return pacman.getImage();
-        }
-        rotateImageByDirection(image, pacman.getDirection());
-        return alternatePacImage(pacman, maze);
-    }
-
     /**
      * Méthode qui tourne une{@code ImageView}selon la direction.
      * @param image {@code ImageView}
@@ -209,15 +246,14 @@ public final class CritterGraphicsFactory {
         }
     }
 
-    private String alternatePacImage(final PacMan pacman, final MazeState maze) {
-        final String name;
-        GraphicsBuffer buffer = pacman.getGraphicsBuffer();
-
-        if (maze.getConfig().isCoop() && pacman == maze.getConfig().getPacman2()) {
-            name = "pacman_rainbow_" + buffer.getPhase();
-        } else {
-            name = "pacman_" + buffer.getPhase();
-        }
+    /**
+     * Renvoie l'image de l'animation de Pac-Man à afficher et passe à la suivante
+     * (aller-retour de 1 à 4).
+     * @param buffer {@link GraphicsBuffer} du Pac-Man
+     * @return {@code int} image de l'animation, de 0 à 4
+     */
+    private int alternatePacPhase(final GraphicsBuffer buffer) {
+        final int phase = buffer.getPhase();
 
         final int firstImg = 1;
         final int lastImg = 4;
@@ -233,95 +269,44 @@ public final class CritterGraphicsFactory {
             buffer.setPhase(buffer.getPhase() - 1);
         }
 
-        return name;
+        return phase;
     }
 
     /**
-     * Méthode renvoyant le nom de l'image pour le {@link Ghost}.
+     * Méthode renvoyant le sprite du {@link Ghost}.
      * @param ghost Un {@link Ghost} pour alterner les images des fantômes.
-     * @param image L'{@code ImageView}
-     * @return {@code String} du nom de l'image
+     * @return {@code int} numéro du sprite dans le {@link SpriteAtlas}
      */
-    private String getGhostImageName(final Ghost ghost, final ImageView image) {
-        String img;
+    private int getGhostSprite(final Ghost ghost) {
         if (ghost.getGhostState() == GhostState.FRIGHTENED
-        && !ghost.getGraphicsBuffer().isAlternate()) {
-            img = getFrightenedImage(ghost, image);
-        } else {
-            if (ghost.getGhostState() == GhostState.EATEN) {
-                return "eaten" + getImageDirection(ghost, image);
-            } else {
-                switch (ghost.getGhostType()) {
-                    case BLINKY:
-                        img = "blinky";
-                        break;
-                    case CLYDE:
-                        img = "clyde";
-                        break;
-                    case INKY:
-                        img = "inky";
-                        break;
-                    case PINKY:
-                        img = "pinky";
-                        break;
-                    default:
-                        img = ghost.getImage();
-                        break;
-                }
-                img += getImageDirection(ghost, image);
-            }
+        && !getBuffer(ghost).isAlternate()) {
+            return SpriteAtlas.frightenedSprite(alternateGhostStep(ghost));
+        } else if (ghost.getGhostState() == GhostState.EATEN) {
+            return SpriteAtlas.eatenSprite(getFacing(ghost));
         }
-        return img + alternateGhostImage(ghost);
+        return SpriteAtlas.ghostSprite(
+            ghost.getGhostType(), getFacing(ghost), alternateGhostStep(ghost)
+        );
     }
 
-    private String getFrightenedImage(final Ghost ghost, final ImageView image) {
-        switch (ghost.getDirection()) {
-            case EAST:
-                if (image.getScaleX() != -1) {
-                    image.setScaleX(-1);
-                }
-                break;
-            case WEST:
-                if (image.getScaleX() != 1) {
-                    image.setScaleX(1);
-                }
-                break;
-
-            default:
-                break;
-        }
-        return "frightened";
-    }
-
-    private String getImageDirection(final Ghost ghost, final ImageView image) {
+    private int getFacing(final Ghost ghost) {
         switch (ghost.getDirection()) {
             case NORTH:
-                return "_u";
-            case EAST:
-                if (image.getScaleX() != -1) {
-                    image.setScaleX(-1);
-                }
-                return "_s";
+                return SpriteAtlas.FACING_UP;
             case SOUTH:
-                return "_d";
-            case WEST:
-                if (image.getScaleX() != 1) {
-                    image.setScaleX(1);
-                }
-                return "_s";
+                return SpriteAtlas.FACING_DOWN;
 
             default:
-                return "_s";
+                return SpriteAtlas.FACING_SIDE;
         }
     }
 
-    private String alternateGhostImage(final Ghost ghost) {
-        GraphicsBuffer buffer = ghost.getGraphicsBuffer();
+    private int alternateGhostStep(final Ghost ghost) {
+        final GraphicsBuffer buffer = getBuffer(ghost);
         buffer.setAlternateMove(!buffer.isAlternateMove());
         if (buffer.isAlternateMove()) {
-            return "_2";
+            return 1;
         }
-        return "_1";
+        return 0;
     }
 }
-
@@ -0,0 +1,349 @@
+package gui.graphics;
+
+import config.Cell;
+import config.Cell.Content;
+import config.MazeConfig;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+
+import java.util.Arrays;
+
+/**
+ * Affichage de la carte sur deux {@link Canvas} superposés, à la place d'un {@code Node}
+ * par cellule :<br>
+ * - les murs, qui ne changent pas pendant une partie, sont dessinés une seule fois ;<br>
+ * - les pac-gommes sont sur une seconde couche dont seules les cellules modifiées
+ * (pac-gomme mangée, clignotement des super pac-gommes) sont redessinées.
+ * <p>Les cellules mangées sont lues dans la file de {@link MazeConfig#pollDirtyCell()} :
+ * le coût d'une image est proportionnel au nombre de cellules modifiées.
+ */
+public final class MazeRenderer {
+    private static final int DOT_SCALE = 10;
+    private static final int ENERGIZER_SCALE = 3;
+    private static final int WALL_SCALE = 10;
+    private static final double CORNER_SHIFT = 20.0;
+    /** Durée pendant laquelle les super pac-gommes sont affichées puis cachées (en ns). */
+    private static final long BLINK_PERIOD = 200_000_000L;
+
+    /** Rien n'est dessiné dans la cellule. */
+    private static final byte EMPTY = 0;
+    /** Un pac-gomme est dessiné dans la cellule. */
+    private static final byte DOT = 1;
+    /** Un super pac-gomme est dessiné dans la cellule. */
+    private static final byte ENERGIZER = 2;
+
+    private final MazeConfig config;
+    private final int width;
+    private final int height;
+    /** L'échelle des images. */
+    private double scale;
+    private final Canvas walls;
+    private final Canvas contents;
+    private final Group node;
+    /** Ce qui est actuellement dessiné dans chaque cellule (indice {@code y * width + x}). */
+    private final byte[] drawn;
+    /** Indices des cellules qui contenaient un super pac-gomme au début de la partie. */
+    private final int[] energizers;
+    /** {@code true} si les super pac-gommes sont visibles. */
+    private boolean blinkOn = true;
+    private long blinkTime = 0;
+
+    /**
+     * Constructeur qui dessine la carte entière.
+     * @param config Carte à afficher
+     * @param newScale L'échelle
+     */
+    public MazeRenderer(final MazeConfig config, final int newScale) {
+        this.config = config;
+        this.width = config.getWidth();
+        this.height = config.getHeight();
+        this.scale = newScale;
+        this.walls = new Canvas(width * scale, height * scale);
+        this.contents = new Canvas(width * scale, height * scale);
+        this.node = new Group(walls, contents);
+        this.drawn = new byte[width * height];
+        this.energizers = findEnergizers();
+        drawAll();
+    }
+
+    /**
+     * Change l'échelle : les deux couches sont redimensionnées et redessinées une fois,
+     * sans recréer de {@code Node}.
+     * @param newScale L'échelle
+     */
+    public void setScale(final int newScale) {
+        if (newScale == scale) {
+            return;
+        }
+        scale = newScale;
+        walls.setWidth(width * scale);
+        walls.setHeight(height * scale);
+        contents.setWidth(width * scale);
+        contents.setHeight(height * scale);
+        drawAll();
+    }
+
+    /** Dessine la carte entière : les modifications déjà en file sont ignorées. */
+    private void drawAll() {
+        config.clearDirtyCells();
+        drawWalls();
+        contents.getGraphicsContext2D().clearRect(0, 0, contents.getWidth(), contents.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                drawContent(x, y, shapeAt(x, y));
+            }
+        }
+    }
+
+    /**
+     * Redessine les cellules dont le contenu a changé depuis la dernière image.
+     * @param deltaT Durée depuis la dernière image (en nanosecondes)
+     */
+    public void render(final long deltaT) {
+        blinkTime += deltaT;
+        if (blinkTime >= BLINK_PERIOD) {
+            blinkTime %= BLINK_PERIOD;
+            blinkOn = !blinkOn;
+            for (int index : energizers) {
+                redraw(index);
+            }
+        }
+        for (int index = config.pollDirtyCell(); index != MazeConfig.NO_DIRTY_CELL;
+            index = config.pollDirtyCell()) {
+            redraw(index);
+        }
+    }
+
+    /**
+     * Renvoie le {@code Node} contenant les deux couches.
+     * @return {@code Node}
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * Redessine la cellule si ce qu'elle doit afficher a changé.
+     * @param index Indice {@code y * width + x} de la cellule
+     */
+    private void redraw(final int index) {
+        final int x = index % width;
+        final int y = index / width;
+        final byte shape = shapeAt(x, y);
+        if (drawn[index] != shape) {
+            drawContent(x, y, shape);
+        }
+    }
+
+    private int[] findEnergizers() {
+        int count = 0;
+        final int[] found = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (config.contentAt(x, y) == Content.ENERGIZER) {
+                    found[count++] = y * width + x;
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private byte shapeAt(final int x, final int y) {
+        final Content content = config.contentAt(x, y);
+        if (content == Content.DOT) {
+            return DOT;
+        }
+        return content == Content.ENERGIZER && blinkOn ? ENERGIZER : EMPTY;
+    }
+
+    /**
+     * Efface la cellule (x, y) de la couche des pac-gommes et y dessine {@code shape}.
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @param shape {@link #EMPTY}, {@link #DOT} ou {@link #ENERGIZER}
+     */
+    private void drawContent(final int x, final int y, final byte shape) {
+        final GraphicsContext gc = contents.getGraphicsContext2D();
+        gc.clearRect(x * scale, y * scale, scale, scale);
+        drawn[y * width + x] = shape;
+        if (shape == EMPTY) {
+            return;
+        }
+        final double radius = shape == DOT ? scale / DOT_SCALE : scale / ENERGIZER_SCALE;
+        final double half = scale / 2;
+        gc.setFill(Color.YELLOW);
+        gc.fillOval(
+            x * scale + half - radius, y * scale + half - radius, 2 * radius, 2 * radius
+        );
+    }
+
+    /** Dessine les murs et les coins arrondis de toutes les cellules. */
+    private void drawWalls() {
+        final GraphicsContext gc = walls.getGraphicsContext2D();
+        gc.clearRect(0, 0, walls.getWidth(), walls.getHeight());
+        gc.setFill(Color.BLUE);
+        gc.setStroke(Color.BLUE);
+        gc.setLineWidth(scale / WALL_SCALE);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                drawCellWalls(gc, x, y);
+                drawInnerCorner(gc, x, y, getInnerCornerType(x, y));
+            }
+        }
+    }
+
+    private void drawCellWalls(final GraphicsContext gc, final int x, final int y) {
+        final Cell cell = config.getCell(x, y);
+        final boolean outer = cell.getContent() == Content.OUTER;
+        final double thickness = scale / WALL_SCALE;
+        final double left = x * scale;
+        final double top = y * scale;
+        // Les murs des coins sont réduits à la moitié de la cellule.
+        final boolean corner = isCorner(cell) && x != 0 && x != width - 1;
+        final double half = scale / 2;
+        final double quarter = half / 2;
+
+        double wallX = left;
+        double wallWidth = scale;
+        if (corner) {
+            wallWidth = half;
+            if (cell.getWestWall()) {
+                wallX += half;
+            } else if (!cell.getEastWall()) {
+                wallX += quarter;
+            }
+        }
+        if (cell.getNorthWall()) {
+            final boolean edge = outer && isNothing(x, y - 1);
+            gc.fillRect(wallX, edge ? top : top + (scale - thickness) / 2, wallWidth, thickness);
+        }
+        if (cell.getSouthWall()) {
+            final boolean edge = outer && isNothing(x, y + 1);
+            gc.fillRect(
+                wallX, edge ? top + scale - thickness : top + (scale - thickness) / 2,
+                wallWidth, thickness
+            );
+        }
+
+        double wallY = top;
+        double wallHeight = scale;
+        if (corner) {
+            wallHeight = half;
+            if (cell.getNorthWall()) {
+                wallY += half;
+            } else if (!cell.getSouthWall()) {
+                wallY += quarter;
+            }
+        }
+        if (cell.getWestWall()) {
+            final boolean edge = outer && isNothing(x - 1, y) || x == 0;
+            gc.fillRect(
+                edge ? left : left + (scale - thickness) / 2, wallY, thickness, wallHeight
+            );
+        }
+        if (cell.getEastWall()) {
+            final boolean edge = outer && isNothing(x + 1, y) || x == width - 1;
+            gc.fillRect(
+                edge ? left + scale - thickness : left + (scale - thickness) / 2,
+                wallY, thickness, wallHeight
+            );
+        }
+    }
+
+    private boolean isNothing(final int x, final int y) {
+        return config.getCell(x, y).getContent() == Content.NOTHING;
+    }
+
+    private boolean isCorner(final Cell cell) {
+        return (
+            cell.getNorthWall() && (cell.getWestWall() || cell.getEastWall())
+            || cell.getSouthWall() && (cell.getWestWall() || cell.getEastWall())
+        );
+    }
+
+    private int getInnerCornerType(final int x, final int y) {
+        final Cell west = config.getCell(x - 1, y);
+        final Cell east = config.getCell(x + 1, y);
+        final Cell north = config.getCell(x, y - 1);
+        final Cell south = config.getCell(x, y + 1);
+
+        final int nw = 1;
+        final int ne = 2;
+        final int se = 3;
+        final int sw = 4;
+
+        if (east.getSouthWall() && south.getEastWall()
+        && config.getCell(x + 1, y + 1).getContent() != Content.SPAWN) {
+            return nw;
+        } else if (west.getSouthWall() && south.getWestWall()
+        && config.getCell(x - 1, y + 1).getContent() != Content.SPAWN) {
+            return ne;
+        } else if (west.getNorthWall() && north.getWestWall()
+        && config.getCell(x - 1, y - 1).getContent() != Content.SPAWN) {
+            return se;
+        } else if (east.getNorthWall() && north.getEastWall()
+        && config.getCell(x + 1, y - 1).getContent() != Content.SPAWN) {
+            return sw;
+        }
+        return 0;
+    }
+
+    /**
+     * Dessine l'arc de cercle d'un coin intérieur, collé au bord de la cellule
+     * indiqué par {@code type}.
+     * @param gc Contexte de la couche des murs
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @param type Type de coin (1 à 4), 0 si la cellule n'est pas un coin intérieur
+     */
+    private void drawInnerCorner(final GraphicsContext gc, final int x, final int y,
+    final int type) {
+        final double strokeWidth = scale / WALL_SCALE;
+        final double radius = scale / 2.0 - strokeWidth + scale / CORNER_SHIFT;
+        final double near = strokeWidth / 2;
+        final double far = scale - strokeWidth / 2;
+        final double centerX;
+        final double centerY;
+        final double start;
+        final double extent;
+        //CHECKSTYLE:OFF
+        switch (type) {
+            case 1:
+                centerX = far;
+                centerY = far;
+                start = 90;
+                extent = 90;
+                break;
+            case 2:
+                centerX = near;
+                centerY = far;
+                start = 0;
+                extent = 90;
+                break;
+            case 3:
+                centerX = near;
+                centerY = near;
+                start = 0;
+                extent = -90;
+                break;
+            case 4:
+                centerX = far;
+                centerY = near;
+                start = 180;
+                extent = 90;
+                break;
+
+            default:
+                return;
+        }
+        //CHECKSTYLE:ON
+        gc.strokeArc(
+            x * scale + centerX - radius, y * scale + centerY - radius,
+            2 * radius, 2 * radius, start, extent, ArcType.OPEN
+        );
+    }
+}
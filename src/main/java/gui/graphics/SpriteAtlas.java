@@ -0,0 +1,240 @@
+package gui.graphics;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import model.Direction;
+import model.Ghost.GhostType;
+import utils.Resources;
+
+/**
+ * Images des critters chargées une fois à la taille affichée, avec leurs orientations
+ * (retournée, tournée d'un quart de tour) déjà calculées : les six pour Pac-Man,
+ * {@link #IDENTITY} et {@link #MIRRORED} pour les fantômes.
+ * <p>Une image est désignée par un numéro de sprite (cf {@link #pacManSprite},
+ * {@link #ghostSprite}, {@link #frightenedSprite}, {@link #eatenSprite}) et une
+ * orientation : choisir l'image d'un critter à chaque mise à jour ne construit aucune
+ * chaîne et ne tourne plus l'{@code ImageView}.
+ * <p>Les atlas sont gardés par taille (cf {@link #forSize}) : revenir à une taille déjà
+ * affichée ne recharge pas les fichiers.
+ */
+final class SpriteAtlas {
+    /** Image telle qu'elle est dans le fichier. */
+    static final int IDENTITY = 0;
+    /** Image retournée horizontalement. */
+    static final int MIRRORED = 1;
+    /** Image tournée d'un quart de tour dans le sens inverse des aiguilles d'une montre. */
+    static final int ROTATED_LEFT = 2;
+    /** Image retournée puis tournée d'un quart de tour dans le sens des aiguilles. */
+    static final int MIRRORED_ROTATED_RIGHT = 3;
+    /** Image tournée d'un quart de tour dans le sens des aiguilles d'une montre. */
+    static final int ROTATED_RIGHT = 4;
+    /** Image retournée puis tournée d'un quart de tour dans le sens inverse des aiguilles. */
+    static final int MIRRORED_ROTATED_LEFT = 5;
+    /** Nombre d'orientations de chaque sprite. */
+    static final int ORIENTATIONS = 6;
+
+    /** Fantôme vers le haut ({@code _u}). */
+    static final int FACING_UP = 0;
+    /** Fantôme vers le bas ({@code _d}). */
+    static final int FACING_DOWN = 1;
+    /** Fantôme de côté ({@code _s}). */
+    static final int FACING_SIDE = 2;
+    private static final String[] FACINGS = {"_u", "_d", "_s"};
+
+    /** Nombre d'images de l'animation de Pac-Man ({@code pacman_0} à {@code pacman_4}). */
+    private static final int PAC_PHASES = 5;
+    /** Nombre d'images de l'animation des fantômes ({@code _1} et {@code _2}). */
+    private static final int GHOST_STEPS = 2;
+    private static final int RAINBOW = PAC_PHASES;
+    private static final int GHOSTS = 2 * PAC_PHASES;
+    private static final int FRIGHTENED =
+        GHOSTS + GhostType.values().length * FACINGS.length * GHOST_STEPS;
+    private static final int EATEN = FRIGHTENED + GHOST_STEPS;
+    /** Nom des fichiers de chaque sprite, dans l'ordre des numéros. */
+    private static final String[] NAMES = spriteNames();
+    /** Atlas déjà chargés, par taille. */
+    private static final Map<Integer, SpriteAtlas> ATLASES = new HashMap<>();
+
+    /** Images de chaque sprite et orientation (indice {@code sprite * ORIENTATIONS + o}). */
+    private final Image[] frames;
+    /** Taille des images en pixels. */
+    private final int size;
+
+    /**
+     * Charge et oriente les images à la taille donnée.
+     * @param size Taille (largeur et hauteur) des images en pixels
+     */
+    private SpriteAtlas(final int size) {
+        this.size = size;
+        this.frames = new Image[NAMES.length * ORIENTATIONS];
+        for (int sprite = 0; sprite < NAMES.length; sprite++) {
+            final Image source = new Image(
+                Resources.getImagePath(NAMES[sprite]), size, size, true, true
+            );
+            frames[sprite * ORIENTATIONS + IDENTITY] = source;
+            frames[sprite * ORIENTATIONS + MIRRORED] = transform(source, true, 0);
+            if (sprite < GHOSTS) {
+                frames[sprite * ORIENTATIONS + ROTATED_LEFT] = transform(source, false, -1);
+                frames[sprite * ORIENTATIONS + MIRRORED_ROTATED_RIGHT] =
+                    transform(source, true, 1);
+                frames[sprite * ORIENTATIONS + ROTATED_RIGHT] = transform(source, false, 1);
+                frames[sprite * ORIENTATIONS + MIRRORED_ROTATED_LEFT] =
+                    transform(source, true, -1);
+            }
+        }
+    }
+
+    /**
+     * Renvoie l'atlas d'une taille, chargé au premier appel.
+     * @param size Taille (largeur et hauteur) des images en pixels
+     * @return {@link SpriteAtlas}
+     */
+    static SpriteAtlas forSize(final int size) {
+        return ATLASES.computeIfAbsent(size, SpriteAtlas::new);
+    }
+
+    /**
+     * Renvoie l'image d'un sprite dans une orientation.
+     * @param sprite Numéro du sprite
+     * @param orientation Orientation ({@link #IDENTITY}...), {@link #IDENTITY} ou
+     * {@link #MIRRORED} pour un fantôme
+     * @return {@code Image}
+     */
+    Image getFrame(final int sprite, final int orientation) {
+        return frames[sprite * ORIENTATIONS + orientation];
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Numéro du sprite de Pac-Man.
+     * @param rainbow {@code true} pour Pac-Man 2 ({@code pacman_rainbow_})
+     * @param phase Image de l'animation, de 0 à 4
+     * @return {@code int}
+     */
+    static int pacManSprite(final boolean rainbow, final int phase) {
+        return (rainbow ? RAINBOW : 0) + phase;
+    }
+
+    /**
+     * Numéro du sprite d'un fantôme.
+     * @param type Type du fantôme
+     * @param facing {@link #FACING_UP}, {@link #FACING_DOWN} ou {@link #FACING_SIDE}
+     * @param step Image de l'animation, 0 ou 1
+     * @return {@code int}
+     */
+    static int ghostSprite(final GhostType type, final int facing, final int step) {
+        return GHOSTS + (type.ordinal() * FACINGS.length + facing) * GHOST_STEPS + step;
+    }
+
+    /**
+     * Numéro du sprite d'un fantôme effrayé.
+     * @param step Image de l'animation, 0 ou 1
+     * @return {@code int}
+     */
+    static int frightenedSprite(final int step) {
+        return FRIGHTENED + step;
+    }
+
+    /**
+     * Numéro du sprite d'un fantôme mangé.
+     * @param facing {@link #FACING_UP}, {@link #FACING_DOWN} ou {@link #FACING_SIDE}
+     * @return {@code int}
+     */
+    static int eatenSprite(final int facing) {
+        return EATEN + facing;
+    }
+
+    /**
+     * Orientation de Pac-Man après un changement de direction. Comme avec la rotation de
+     * l'{@code ImageView}, aller vers le Nord ou le Sud garde le retournement de l'image.
+     * @param orientation Orientation actuelle
+     * @param dir Nouvelle direction
+     * @return {@code int}
+     */
+    static int turn(final int orientation, final Direction dir) {
+        final boolean mirrored = isMirrored(orientation);
+        switch (dir) {
+            case NORTH:
+                return mirrored ? MIRRORED_ROTATED_RIGHT : ROTATED_LEFT;
+            case SOUTH:
+                return mirrored ? MIRRORED_ROTATED_LEFT : ROTATED_RIGHT;
+            case WEST:
+                return MIRRORED;
+            default:
+                return IDENTITY;
+        }
+    }
+
+    static boolean isMirrored(final int orientation) {
+        return orientation == MIRRORED || orientation == MIRRORED_ROTATED_RIGHT
+            || orientation == MIRRORED_ROTATED_LEFT;
+    }
+
+    private static String[] spriteNames() {
+        final String[] names = new String[EATEN + FACINGS.length];
+        for (int phase = 0; phase < PAC_PHASES; phase++) {
+            names[pacManSprite(false, phase)] = "pacman_" + phase;
+            names[pacManSprite(true, phase)] = "pacman_rainbow_" + phase;
+        }
+        for (GhostType type : GhostType.values()) {
+            for (int facing = 0; facing < FACINGS.length; facing++) {
+                for (int step = 0; step < GHOST_STEPS; step++) {
+                    names[ghostSprite(type, facing, step)] =
+                        type.name().toLowerCase(Locale.ROOT) + FACINGS[facing] + "_" + (step + 1);
+                }
+            }
+        }
+        for (int step = 0; step < GHOST_STEPS; step++) {
+            names[frightenedSprite(step)] = "frightened_" + (step + 1);
+        }
+        for (int facing = 0; facing < FACINGS.length; facing++) {
+            names[eatenSprite(facing)] = "eaten" + FACINGS[facing];
+        }
+        return names;
+    }
+
+    /**
+     * Copie l'image, retournée horizontalement si demandé, puis tournée.
+     * @param source Image à copier
+     * @param mirror {@code true} pour retourner l'image
+     * @param quarterTurns 1 (sens des aiguilles d'une montre), -1 (sens inverse) ou 0
+     * @return {@code Image}
+     */
+    private static Image transform(final Image source, final boolean mirror,
+    final int quarterTurns) {
+        final int width = (int) source.getWidth();
+        final int height = (int) source.getHeight();
+        final boolean swap = quarterTurns != 0;
+        final WritableImage result = swap
+            ? new WritableImage(height, width) : new WritableImage(width, height);
+        final PixelReader reader = source.getPixelReader();
+        final PixelWriter writer = result.getPixelWriter();
+        for (int y = 0; y < (int) result.getHeight(); y++) {
+            for (int x = 0; x < (int) result.getWidth(); x++) {
+                int sourceX = x;
+                int sourceY = y;
+                if (quarterTurns > 0) {
+                    sourceX = y;
+                    sourceY = height - 1 - x;
+                } else if (quarterTurns < 0) {
+                    sourceX = width - 1 - y;
+                    sourceY = x;
+                }
+                if (mirror) {
+                    sourceX = width - 1 - sourceX;
+                }
+                writer.setArgb(x, y, reader.getArgb(sourceX, sourceY));
+            }
+        }
+        return result;
+    }
+}
@@ -1,6 +1,6 @@
 /**
  * Package contenant tout ce qui est graphique :<br><br>
- * - Création des images pour les entités et cellules<br><br>
+ * - Création des images pour les entités et dessin de la carte<br><br>
  * - Animation pour les critters.
  */
 package gui.graphics;
@@ -3,9 +3,9 @@ package gui.menu;
 import java.util.ArrayList;
 import java.util.List;
 
-import config.Cell;
 import config.MazeConfig;
 import config.mazeGen.MainGrid;
+import config.mazeGen.MazePrefetcher;
 import gui.GameView;
 import gui.InGameGui;
 import gui.controller.Controller;
@@ -43,7 +43,6 @@ public final class Custom extends Menu {
     private static int mazeWidth;
     private static int mazeHeight;
     private static String selectedMode;
-    private static Cell[][] currentMap;
 
     public static final Custom INSTANCE = new Custom();
 
@@ -60,6 +59,8 @@ public final class Custom extends Menu {
     public void toCustom() {
         setScene();
         getMainStage().setScene(getMenuScene());
+        // Les cartes de la taille choisie sont générées pendant que le joueur est dans le menu.
+        MazePrefetcher.INSTANCE.prefetch(mazeHeight, mazeWidth);
     }
 
     @Override
@@ -111,7 +112,10 @@ public final class Custom extends Menu {
             (MainGrid.getMinMaxLongueur()[0] + MainGrid.getMinMaxLongueur()[1]) / 2.0
         );
         widthSlider.valueProperty().addListener(
-            (observable, oldValue, newValue) -> setMazeWidth(newValue.intValue())
+            (observable, oldValue, newValue) -> {
+                setMazeWidth(newValue.intValue());
+                MazePrefetcher.INSTANCE.prefetch(mazeHeight, mazeWidth);
+            }
         );
         //CHECKSTYLE:OFF
         widthSlider.setShowTickLabels(true);
@@ -133,7 +137,10 @@ public final class Custom extends Menu {
             (MainGrid.getMinMaxHauteur()[0] + MainGrid.getMinMaxHauteur()[1]) / 2.0
         );
         heightSlider.valueProperty().addListener(
-            (observable, oldValue, newValue) -> setMazeHeight(newValue.intValue())
+            (observable, oldValue, newValue) -> {
+                setMazeHeight(newValue.intValue());
+                MazePrefetcher.INSTANCE.prefetch(mazeHeight, mazeWidth);
+            }
         );
         heightSlider.setShowTickLabels(true);
         heightSlider.setShowTickMarks(true);
@@ -201,7 +208,10 @@ public final class Custom extends Menu {
     @Override
     protected void addEventHandlers(final Scene gameScene) {
         buttons.get(0).setOnMouseClicked(event -> startLevel(selectedMode, mazeWidth, mazeHeight));
-        buttons.get(1).setOnMouseClicked(event -> MainMenu.INSTANCE.toMenu());
+        buttons.get(1).setOnMouseClicked(event -> {
+            MazePrefetcher.INSTANCE.cancel();
+            MainMenu.INSTANCE.toMenu();
+        });
 
         buttons.get(0).setOnKeyPressed(keyEvent -> {
             if (keyEvent.getCode() == KeyCode.ENTER) {
@@ -210,6 +220,7 @@ public final class Custom extends Menu {
         });
         buttons.get(1).setOnKeyPressed(keyEvent -> {
             if (keyEvent.getCode() == KeyCode.ENTER) {
+                    MazePrefetcher.INSTANCE.cancel();
                     MainMenu.INSTANCE.toMenu();
             }
         });
@@ -238,7 +249,9 @@ public final class Custom extends Menu {
         boolean versus = mode.equals("Versus");
         boolean coop = mode.equals("Coop");
 
-        MazeState maze = new MazeState(MazeConfig.endlessConfig(coop, width, height));
+        MazeState maze = new MazeState(
+            MazeConfig.endlessConfig(coop, MazePrefetcher.INSTANCE.take(height, width), null)
+        );
 
         getMainStage().setScene(gameScene);
         InGameGui inGameGui = new InGameGui(gameScene, solo ? "Solo" : "Multi", true);
@@ -325,14 +338,6 @@ public final class Custom extends Menu {
         }
     }
 
-    public static Cell[][] getCurrentMap() {
-        return currentMap;
-    }
-
-    public static void setCurrentMap(final Cell[][] currentMap) {
-        Custom.currentMap = currentMap;
-    }
-
     public static void setMazeWidth(final int mazeWidth) {
         Custom.mazeWidth = mazeWidth;
     }
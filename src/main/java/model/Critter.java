@@ -2,14 +2,17 @@ package model;
 
 import geometry.RealCoordinates;
 
-public sealed class Critter permits Ghost, PacMan {
+/**
+ * Personnage qui se déplace dans le labyrinthe ({@link PacMan} ou {@link Ghost}).
+ * <p>Le stockage de la position, de la direction et de la vitesse est laissé aux sous-classes :
+ * {@link PacMan} les garde dans ses champs, les {@link Ghost} dans la {@link GhostTable}
+ * de la partie.
+ */
+public abstract sealed class Critter permits Ghost, PacMan {
 
     private static final double NORMAL_SPEED = 5.0;
 
-    private RealCoordinates pos;
     private RealCoordinates spawnPos;
-    private double speed = NORMAL_SPEED;
-    private Direction direction = Direction.NONE;
     private String image = "";
 
    /**
@@ -30,29 +33,76 @@ public sealed class Critter permits Ghost, PacMan {
      * @return {@code RealCoordinates}
      */
     public RealCoordinates nextPos(final long deltaTNS, final Direction d) {
+        final double step = getStep(deltaTNS);
+        return new RealCoordinates(getX() + d.getDx() * step, getY() + d.getDy() * step);
+    }
+
+    /**
+     * Renvoie la distance parcourue pendant un tick à la vitesse actuelle.
+     * <p>Le déplacement se calcule alors sans allocation :
+     * {@code getX() + d.getDx() * getStep(deltaTNS)}.
+     * @param deltaTNS Tick
+     * @return {@code double}
+     */
+    public final double getStep(final long deltaTNS) {
         final double nanoseconds = 1E-9;
-        return getPos().plus((
-            switch (d) {
-            case NONE -> RealCoordinates.ZERO;
-            case NORTH -> RealCoordinates.NORTH_UNIT;
-            case EAST -> RealCoordinates.EAST_UNIT;
-            case SOUTH -> RealCoordinates.SOUTH_UNIT;
-            case WEST -> RealCoordinates.WEST_UNIT;
-            default -> RealCoordinates.ZERO;
-        }).times(getSpeed() * deltaTNS * nanoseconds));
+        return getSpeed() * deltaTNS * nanoseconds;
     }
 
     public static double getNormalSpeed() {
         return NORMAL_SPEED;
     }
 
-    public final RealCoordinates getPos() {
-        return pos;
-    }
+    /**
+     * Renvoie la position du {@link Critter}. L'objet n'est recréé que
+     * si la position a changé depuis le dernier appel.
+     * @return {@link RealCoordinates}
+     */
+    public abstract RealCoordinates getPos();
 
-    public final void setPos(final RealCoordinates pos) {
-        this.pos = pos;
-    }
+    /**
+     * Change la position du {@link Critter}.
+     * @param pos {@link RealCoordinates}
+     */
+    public abstract void setPos(RealCoordinates pos);
+
+    /**
+     * Change la position du {@link Critter} sans allouer de {@link RealCoordinates}.
+     * @param newX Abscisse
+     * @param newY Ordonnée
+     */
+    public abstract void setPos(double newX, double newY);
+
+    /**
+     * Renvoie la position en abscisse, source de vérité de la position du {@link Critter}.
+     * @return {@code double}
+     */
+    public abstract double getX();
+
+    /**
+     * Renvoie la position en ordonnée, source de vérité de la position du {@link Critter}.
+     * @return {@code double}
+     */
+    public abstract double getY();
+
+    /**
+     * Mémorise la prochaine position calculée pendant un déplacement.
+     * @param newX Abscisse
+     * @param newY Ordonnée
+     */
+    protected abstract void setNextPos(double newX, double newY);
+
+    /**
+     * Renvoie la prochaine position en abscisse calculée pendant un déplacement.
+     * @return {@code double}
+     */
+    protected abstract double getNextX();
+
+    /**
+     * Renvoie la prochaine position en ordonnée calculée pendant un déplacement.
+     * @return {@code double}
+     */
+    protected abstract double getNextY();
 
     public final RealCoordinates getSpawnPos() {
         return spawnPos;
@@ -62,21 +112,29 @@ public sealed class Critter permits Ghost, PacMan {
         this.spawnPos = spawnPos;
     }
 
-    public final Direction getDirection() {
-        return direction;
-    }
+    /**
+     * Renvoie la direction actuelle du {@link Critter}.
+     * @return {@link Direction}
+     */
+    public abstract Direction getDirection();
 
-    public final void setDirection(final Direction direction) {
-        this.direction = direction;
-    }
+    /**
+     * Change la direction du {@link Critter}.
+     * @param direction {@link Direction}
+     */
+    public abstract void setDirection(Direction direction);
 
-    public final double getSpeed() {
-        return speed;
-    }
+    /**
+     * Renvoie la vitesse du {@link Critter} (en cases par seconde).
+     * @return {@code double}
+     */
+    public abstract double getSpeed();
 
-    public final void setSpeed(final double speed) {
-        this.speed = speed;
-    }
+    /**
+     * Change la vitesse du {@link Critter}.
+     * @param speed {@code double}
+     */
+    public abstract void setSpeed(double speed);
 
     /**
      * Retourne l'image du critter.
@@ -5,7 +5,34 @@ import geometry.RealCoordinates;
 
 public enum Direction {
     /** Directions possibles. */
-    NONE, NORTH, EAST, SOUTH, WEST;
+    NONE(0, 0), NORTH(0, -1), EAST(1, 0), SOUTH(0, 1), WEST(-1, 0);
+
+    /** Déplacement unitaire en abscisse. */
+    private final int dx;
+    /** Déplacement unitaire en ordonnée. */
+    private final int dy;
+
+    Direction(final int dx, final int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
+    }
+
+    /**
+     * Renvoie le bit de la {@link Direction} dans un masque de directions
+     * (Nord = 1, Est = 2, Sud = 4, Ouest = 8 et 0 pour {@link #NONE}).
+     * @return {@code int}
+     */
+    public int getBit() {
+        return this == NONE ? 0 : 1 << (ordinal() - 1);
+    }
 
     /**
      * Méthode qui retourne true si la cellule{@code Cell c}
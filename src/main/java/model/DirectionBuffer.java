@@ -1,11 +1,7 @@
 package model;
 
-import java.util.Set;
-
-import config.Cell;
 import config.Cell.Content;
 import config.MazeConfig;
-import geometry.IntCoordinates;
 
 public final class DirectionBuffer {
     /* Buffer d'un controller
@@ -31,20 +27,33 @@ public final class DirectionBuffer {
         if (bufferDirection == Direction.NONE) {
             return false;
         }
-        final Set<IntCoordinates> neighbours
-        = critter.nextPos(deltaTns, bufferDirection).intNeighbours();
-        // final int maxNeighbours = 4;
-        // if (neighbours.size() >= maxNeighbours) {
-        //     return false;
-        // }
-        for (IntCoordinates c: neighbours) {
-            Cell cell = config.getCell(c);
-            if (cell.hasWall()
-            || critter instanceof PacMan && cell.getContent() == Content.SPAWN) {
-                return false;
-            }
-        }
-        return true;
+        final double step = critter.getStep(deltaTns);
+        final double nextX = critter.getX() + bufferDirection.getDx() * step;
+        final double nextY = critter.getY() + bufferDirection.getDy() * step;
+        // Cellules superposées par la prochaine position (cf RealCoordinates#intNeighbours).
+        final int floorX = (int) Math.floor(nextX);
+        final int ceilX = (int) Math.ceil(nextX);
+        final int floorY = (int) Math.floor(nextY);
+        final int ceilY = (int) Math.ceil(nextY);
+        final boolean isPacMan = critter instanceof PacMan;
+        return isFree(config, floorX, floorY, isPacMan)
+            && isFree(config, ceilX, floorY, isPacMan)
+            && isFree(config, floorX, ceilY, isPacMan)
+            && isFree(config, ceilX, ceilY, isPacMan);
+    }
+
+    /**
+     * Renvoie vrai si la cellule (x, y) peut être traversée.
+     * @param config {@link MazeConfig}
+     * @param x Abscisse
+     * @param y Ordonnée
+     * @param isPacMan Vrai si le {@link Critter} est {@link PacMan} (il ne peut pas entrer
+     * dans le spawn des fantômes)
+     * @return {@code boolean}
+     */
+    private static boolean isFree(final MazeConfig config, final int x, final int y,
+            final boolean isPacMan) {
+        return !config.isWall(x, y) && !(isPacMan && config.contentAt(x, y) == Content.SPAWN);
     }
 
     /**
@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * Interface recevant les évènements émis par {@link MazeState} au cours d'une partie.
+ * <p>Le modèle ne dépend ainsi ni de JavaFX ni du son : l'interface graphique branche
+ * sa propre implémentation, et {@link SimulationEngine} peut faire tourner une partie
+ * sans affichage avec {@link #NONE}.
+ */
+public interface GameListener {
+    /** Listener qui ignore tous les évènements (partie sans affichage ni son). */
+    GameListener NONE = new GameListener() { };
+
+    /**
+     * Appelée lorsqu'un effet sonore doit être joué une fois.
+     * @param name Nom du son
+     */
+    default void playSound(final String name) {
+    }
+
+    /**
+     * Appelée lorsque la musique de fond doit être remplacée.
+     * @param name Nom de la musique
+     */
+    default void playLoopingBgMusic(final String name) {
+    }
+
+    /** Appelée lorsque la musique de fond doit être arrêtée. */
+    default void stopBackgroundMusic() {
+    }
+
+    /**
+     * Appelée lorsqu'un {@link Ghost} vient d'être mangé par {@link PacMan}.
+     * @param eatScore Points gagnés
+     * @param ghost Le fantôme mangé
+     */
+    default void ghostEaten(final int eatScore, final Ghost ghost) {
+    }
+
+    /**
+     * Appelée lorsqu'un {@link PacMan} est replacé à son point de départ après une vie
+     * perdue.
+     * @param pacman Le Pac-Man replacé
+     */
+    default void pacManReset(final PacMan pacman) {
+    }
+}
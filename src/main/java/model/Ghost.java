@@ -1,8 +1,6 @@
 package model;
 
-import geometry.IntCoordinates;
 import geometry.RealCoordinates;
-import gui.graphics.GraphicsBuffer;
 import model.MazeState.GameState;
 
 import static model.Direction.NORTH;
@@ -13,9 +11,7 @@ import static model.Direction.WEST;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 
-import config.Cell;
 import config.MazeConfig;
 import config.Cell.Content;
 
@@ -50,15 +46,30 @@ public final class Ghost extends Critter {
         EATEN
     }
 
+    /** Manière dont un {@link Ghost} choisit la direction qui le rapproche de sa cible. */
+    public enum TargetingMode {
+        /** Distance à vol d'oiseau (comportement du jeu original, ignore les murs). */
+        EUCLIDEAN,
+        /** Plus court chemin dans le labyrinthe (cf {@link MazeConfig#getDistanceField}). */
+        PATH
+    }
+
     // region Variables
 
+    /** Masque contenant les 4 directions (cf {@link Direction#getBit()}). */
+    private static final int ALL_DIRECTIONS = 0b1111;
+    /** Listes immuables des directions pour chaque masque, dans l'ordre Nord, Ouest, Sud, Est. */
+    private static final List<List<Direction>> DIRECTIONS_BY_MASK = directionsByMask();
+    /** Listes immuables contenant une seule direction, indexées par ordinal. */
+    private static final List<List<Direction>> SINGLE_DIRECTION = singleDirection();
+
     /** Type du fantôme actuel. */
     private final GhostType ghostType;
-    /** Etat du fantôme actuel. */
-    private GhostState ghostState = GhostState.NORMAL;
+    /** Table qui contient l'état (position, direction, vitesse, cible...) du fantôme. */
+    private final GhostTable table;
+    /** Indice du fantôme dans {@link #table}. */
+    private final int index;
 
-    /** Coordonnées cible du {@link Ghost}. */
-    private RealCoordinates target;
     /** {@link PacMan} attaché au {@link Ghost}. */
     private PacMan pacman;
     private PacMan pacman2;
@@ -70,8 +81,6 @@ public final class Ghost extends Critter {
     */
     private final Ghost inkyLinkedGhost;
 
-    private boolean activated = false;
-
     /** Pacman CHASED (Mode Coop). */
     private PacMan chaseTarget;
 
@@ -80,10 +89,32 @@ public final class Ghost extends Critter {
 
     /** Buffer utilisé pour le mode versus en multijoueur. */
     private DirectionBuffer directionBuffer = null;
-    private GraphicsBuffer graphicsBuffer = new GraphicsBuffer();
 
     // endregion Variables :
 
+    private static List<List<Direction>> directionsByMask() {
+        final Direction[] order = {NORTH, WEST, SOUTH, EAST};
+        final List<List<Direction>> lists = new ArrayList<>(ALL_DIRECTIONS + 1);
+        for (int mask = 0; mask <= ALL_DIRECTIONS; mask++) {
+            final List<Direction> list = new ArrayList<>();
+            for (Direction dir : order) {
+                if ((mask & dir.getBit()) != 0) {
+                    list.add(dir);
+                }
+            }
+            lists.add(List.copyOf(list));
+        }
+        return List.copyOf(lists);
+    }
+
+    private static List<List<Direction>> singleDirection() {
+        final List<List<Direction>> lists = new ArrayList<>();
+        for (Direction dir : Direction.values()) {
+            lists.add(List.of(dir));
+        }
+        return List.copyOf(lists);
+    }
+
     // region Constructeurs :
 
     /**
@@ -97,18 +128,22 @@ public final class Ghost extends Critter {
 
     /**
      * Constructeur pour un {@link Ghost}.
-     * Inky à besoin d'un fantôme lié pour calculer sa cible en mode CHASE.
+     * Inky à besoin d'un fantôme lié pour calculer sa cible en mode CHASE
+     * (lui-même si {@code null}).
+     * Le fantôme est ajouté à la {@link GhostTable} de la configuration.
      * @param config
      * @param ghostType
      * @param inkyLinkedGhost
      */
     public Ghost(final MazeConfig config, final GhostType ghostType, final Ghost inkyLinkedGhost) {
         this.ghostType = ghostType;
-        this.inkyLinkedGhost = inkyLinkedGhost;
+        this.inkyLinkedGhost = inkyLinkedGhost != null ? inkyLinkedGhost : this;
+        this.table = config.getGhostTable();
+        this.index = table.add(this);
         final RealCoordinates spawnPos = initStartValue(config, "spawn");
         this.eatenTarget = initStartValue(config, "eaten");
         this.scatterTarget = initStartValue(config, "scatter");
-        this.target = scatterTarget;
+        setTarget(scatterTarget);
         this.pacman = config.getPacman();
         this.pacman2 = config.getPacman2();
         setSpawnPos(spawnPos);
@@ -191,7 +226,7 @@ public final class Ghost extends Critter {
      */
     public void updatePlayerGhost(final MazeState state, final long deltaTns) {
         if (isInSpawn(state.getConfig())) {
-            ghostState = GhostState.NORMAL;
+            setGhostState(GhostState.NORMAL);
         }
         if (directionBuffer.isBufferDirectionValid(this, deltaTns, state.getConfig())) {
             setDirection(directionBuffer.getBufferDirection());
@@ -209,22 +244,22 @@ public final class Ghost extends Critter {
      * @param state
      */
     public void updateState(final MazeState state) {
-        if (getPos().equals(eatenTarget) && activated) {
-            ghostState = GhostState.NORMAL;
+        if (getX() == eatenTarget.x() && getY() == eatenTarget.y() && isActivated()) {
+            setGhostState(GhostState.NORMAL);
         }
         // Vérifie si les conditions d'activation des fantômes INKY et CLYDE sont remplies.
-        if (!activated) {
+        if (!isActivated()) {
             switch (ghostType) {
                 case INKY:
                     final int inkyThreshold = state.getConfig().getTotalPacGomme() / 10;
                     if (state.getEatenPacgomme() >= inkyThreshold) {
-                        activated = true;
+                        setActivated(true);
                     }
                     break;
                 case CLYDE:
                     final int clydeThreshold = state.getConfig().getTotalPacGomme() / 3;
                     if (state.getEatenPacgomme() >= clydeThreshold) {
-                        activated = true;
+                        setActivated(true);
                     }
                     break;
                 default:
@@ -244,29 +279,28 @@ public final class Ghost extends Critter {
     public void updateTarget(final MazeState state) {
         final RealCoordinates spawnEntrance = state.getConfig().getGhostSpawnEntrance();
         final int spawnInter = 3;
-        final RealCoordinates intersection = spawnEntrance.plus(new RealCoordinates(0, spawnInter));
-        if (ghostState == GhostState.EATEN) {
+        if (getGhostState() == GhostState.EATEN) {
             // Si mangé, alors fixe sa cible à l'entrée du spawn des fantômes.
-            if (!target.equals(spawnEntrance) && !isInSpawn(state.getConfig())) {
-                target = spawnEntrance;
+            if (!isTarget(spawnEntrance) && !isInSpawn(state.getConfig())) {
+                setTarget(spawnEntrance);
             // Si il se trouve à l'entrée du spawn, alors fixe sa cible en eatenTarget.
-            } else if (!target.equals(eatenTarget) && isInSpawn(state.getConfig())) {
-                target = eatenTarget;
+            } else if (!isTarget(eatenTarget) && isInSpawn(state.getConfig())) {
+                setTarget(eatenTarget);
             }
         // Si il est arrivé à la position de son eatenTarget, va vers le milieu.
-        } else if (getPos().y() == intersection.y() && isInSpawn(state.getConfig())) {
-            target = intersection;
+        } else if (getY() == spawnEntrance.y() + spawnInter && isInSpawn(state.getConfig())) {
+            setTarget(spawnEntrance.plus(new RealCoordinates(0, spawnInter)));
 
         // Si l'état actuel du jeu est "SCATTER", alors fixe sa cible en scatterTarget.
-        } else if (state.getCurrentState() == GameState.SCATTER && !target.equals(scatterTarget)) {
-            target = scatterTarget;
+        } else if (state.getCurrentState() == GameState.SCATTER && !isTarget(scatterTarget)) {
+            setTarget(scatterTarget);
 
         // Si l'état actuel du jeu est "CHASE", alors fixe sa cible en chaseTarget.
         } else if (state.getCurrentState() == GameState.CHASE) {
             if (state.getConfig().isCoop()) {
-                target = calcChaseTargetCoop();
+                setTarget(calcChaseTargetCoop());
             } else {
-                target = calcChaseTarget();
+                setTarget(calcChaseTarget());
             }
         }
     }
@@ -429,21 +463,21 @@ public final class Ghost extends Critter {
 
         // Si le fantôme est dans l'état normal et se trouve dans le spawn,
         // alors le fantôme doit sortir du spawn en prenant un chemin prédéfini.
-        if (ghostState != GhostState.EATEN && isInSpawn(config)) {
+        if (getGhostState() != GhostState.EATEN && isInSpawn(config)) {
             setDirection(getDirectionToExitSpawn(config));
             return;
         }
 
         // Si le fantôme est activé et apeuré et qu'il n'a pas encore été mangé,
         // alors le fantôme doit prendre des directions aléatoires.
-        if (activated && ghostState == GhostState.FRIGHTENED) {
+        if (isActivated() && getGhostState() == GhostState.FRIGHTENED) {
             setDirection(getRandomDirection(config));
             return;
         }
 
         // Si le fantôme est dans l'état mangé et se trouve à l'entrée du spawn ou est dans le spawn
         // alors le fantôme doit aller vers sa cible en prenant un chemin prédéfini.
-        if (ghostState == GhostState.EATEN && getPos().equals(config.getGhostSpawnEntrance())
+        if (getGhostState() == GhostState.EATEN && getPos().equals(config.getGhostSpawnEntrance())
         || isInSpawn(config)) {
             setDirection(getDirectionToEatenTarget());
             return;
@@ -463,44 +497,49 @@ public final class Ghost extends Critter {
     /**
      * La méthode retourne une liste contenant les directions possibles qu'un
      * fantôme peut emprunter à une intersection.
+     * La liste renvoyée est partagée et ne doit pas être modifiée.
      * @param config
      * @return Une {@code List<Direction>} contenant les directions possibles.
      */
     public List<Direction> possibleDirections(final MazeConfig config) {
         if (isInTunnel(config)) {
-            return Arrays.asList(getDirection());
+            return SINGLE_DIRECTION.get(getDirection().ordinal());
         }
-        final RealCoordinates curPos = getPos();
-        List<Direction> directions = new ArrayList<>(Arrays.asList(NORTH, WEST, SOUTH, EAST));
+        return DIRECTIONS_BY_MASK.get(possibleDirectionsMask(config));
+    }
+
+    /**
+     * Renvoie le masque des directions possibles (cf {@link Direction#getBit()}).
+     * Au centre d'une case, les sorties sont lues dans la table précalculée par
+     * {@link MazeConfig#getGhostExits(int, int)} ; entre 2 cases, le fantôme ne peut
+     * que continuer sur son axe, sans lire la carte.
+     * @param config
+     * @return {@code int}
+     */
+    private int possibleDirectionsMask(final MazeConfig config) {
+        final double x = getX();
+        final double y = getY();
         // Si le fantôme est sur 4 cellules en même temps (sécurité).
-        if (curPos.y() != Math.floor(curPos.y()) && curPos.x() != Math.floor(curPos.x())) {
-            return directions;
+        if (y != Math.floor(y) && x != Math.floor(x)) {
+            return ALL_DIRECTIONS;
         }
-        directions.remove(getDirection().getOpposite());
-        // Cas où le fantôme se trouve sur les cellules dites "murs invisibles".
-        if (config.getCell(curPos.toIntCoordinates()).isRestricted()) {
-            directions.remove(NORTH);
-        }
-        if (curPos.y() != Math.floor(curPos.y())) {
-            directions.remove(EAST);
-            directions.remove(WEST);
-        } else if (curPos.x() != Math.floor(curPos.x())) {
-            directions.remove(NORTH);
-            directions.remove(SOUTH);
+        final int cellX = (int) Math.round(x);
+        final int cellY = (int) Math.round(y);
+        int mask = ALL_DIRECTIONS & ~getDirection().getOpposite().getBit();
+        if (y != Math.floor(y)) {
+            mask &= ~(EAST.getBit() | WEST.getBit());
+        } else if (x != Math.floor(x)) {
+            mask &= ~(NORTH.getBit() | SOUTH.getBit());
         } else {
-            // Cas où le fantôme est au milieu d'une case, alors retire toutes les cases du spawn
-            // et celles qui ont un mur.
-            List<Direction> possibleDirections = new ArrayList<>();
-            for (Direction dir : directions) {
-                IntCoordinates adjCoords = curPos.plus(dir.directionToUnit()).toIntCoordinates();
-                Cell cell = config.getCell(adjCoords);
-                if (!cell.hasWall() && cell.getContent() != Cell.Content.SPAWN) {
-                    possibleDirections.add(dir);
-                }
-            }
-            directions = possibleDirections;
+            // Cas où le fantôme est au milieu d'une case : sorties précalculées (murs, spawn et
+            // cellules dites "murs invisibles").
+            return mask & config.getGhostExits(cellX, cellY);
         }
-        return directions;
+        // Cas où le fantôme se trouve sur les cellules dites "murs invisibles".
+        if (config.isRestricted(cellX, cellY)) {
+            mask &= ~NORTH.getBit();
+        }
+        return mask;
     }
 
     /**
@@ -522,26 +561,72 @@ public final class Ghost extends Critter {
             return possibleDir.get(0);
         }
 
+        if (config.getTargetingMode() == TargetingMode.PATH) {
+            final Direction pathDir = getDirectionOnShortestPath(config, possibleDir);
+            if (pathDir != null) {
+                return pathDir;
+            }
+        }
+
         // Prend la direction où la distance est la plus petite.
-        double[] deltaDist = new double[possibleDir.size()];
-        double min = getDistance(getPos().plus(possibleDir.get(0).directionToUnit()), target);
+        double min = distanceToTarget(possibleDir.get(0));
         int indice = 0;
         for (int i = 1; i < possibleDir.size(); i++) {
-            final RealCoordinates possiblePos = possibleDir.get(i).directionToUnit();
-            deltaDist[i] = getDistance(getPos().plus(possiblePos), target);
-            if (deltaDist[i] < min) {
-                min = deltaDist[i];
+            final double dist = distanceToTarget(possibleDir.get(i));
+            if (dist < min) {
+                min = dist;
                 indice = i;
             }
         }
         return possibleDir.get(indice);
     }
 
+    /**
+     * Renvoie la {@link Direction} qui mène à la cible par le plus court chemin dans le
+     * labyrinthe, à l'aide du champ de distances de la cellule cible.
+     * @param config
+     * @param possibleDir Directions possibles
+     * @return La {@link Direction}, ou {@code null} si la cible est hors de la carte ou
+     * inaccessible (le {@link Ghost} utilise alors la distance à vol d'oiseau).
+     */
+    private Direction getDirectionOnShortestPath(final MazeConfig config,
+            final List<Direction> possibleDir) {
+        final int[] field = config.getDistanceField(
+            (int) Math.round(getTargetX()), (int) Math.round(getTargetY()));
+        if (field == null) {
+            return null;
+        }
+        Direction best = null;
+        int min = Integer.MAX_VALUE;
+        for (Direction dir : possibleDir) {
+            final int dist = field[config.cellIndex(
+                (int) Math.round(getX() + dir.getDx()), (int) Math.round(getY() + dir.getDy()))];
+            if (dist >= 0 && dist < min) {
+                min = dist;
+                best = dir;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Renvoie la distance entre la case voisine dans la direction donnée et la cible
+     * (cf {@link #getDistance(RealCoordinates, RealCoordinates)}), sans allocation.
+     * @param dir {@link Direction}
+     * @return {@code double}
+     */
+    private double distanceToTarget(final Direction dir) {
+        final double dx = getTargetX() - (getX() + dir.getDx());
+        final double dy = getTargetY() - (getY() + dir.getDy());
+        return Math.abs(Math.sqrt(Math.pow(dx, 2) + Math.pow(dy, 2)));
+    }
+
     /**
      * La méthode renvoie une direction "aléatoire" basée sur la direction du
      * fantôme et des probabilités de chaque direction.
      * Les probabilités sont basées sur le jeu original : 16.3% Nord, 25.2% Est,
      * 28.5% Sud, 30.0% Ouest.
+     * Le tirage utilise le générateur propre au fantôme (cf {@link GhostTable#setSeed(long)}).
      * @param config {@link MazeConfig}
      * @return {@link Direction}
      */
@@ -567,7 +652,7 @@ public final class Ghost extends Critter {
                 dirProba.remove(i);
             }
         }
-        double random = Math.random() * 100; // 0 à 99
+        double random = table.nextRandom(index) * 100; // 0 à 99
         int j = 0;
         for (int k = 0; k < dirProba.size(); k++) {
             random -= dirProba.get(k);
@@ -622,22 +707,25 @@ public final class Ghost extends Critter {
      * @param config
      */
     public void updatePosition(final long deltaTns, final MazeConfig config) {
-        if (activated) {
-            RealCoordinates pos = getPos();
-            RealCoordinates nextPos = nextPos(deltaTns);
-            final int width = config.getWidth();
-            final int height = config.getHeight();
-            if (pos.equals(nextPos)) {
+        if (isActivated()) {
+            final double x = getX();
+            final double y = getY();
+            final double step = getStep(deltaTns);
+            final double nextX = x + getDirection().getDx() * step;
+            final double nextY = y + getDirection().getDy() * step;
+            if (x == nextX && y == nextY) {
                 return;
-            } else if (pos.haveSameNeighbours(nextPos)) {
-                nextPos = pos.adjustNextPos(nextPos);
+            } else if (RealCoordinates.haveSameNeighbours(x, y, nextX, nextY)) {
+                setNextPos(RealCoordinates.adjustNextPos(x, nextX),
+                    RealCoordinates.adjustNextPos(y, nextY));
             } else {
-                nextPos = furthestFreeCell(nextPos, config);
+                furthestFreeCell(nextX, nextY, config);
             }
-            if (wentThroughTarget(nextPos)) {
-                nextPos = target;
+            if (wentThroughTarget(getNextX(), getNextY())) {
+                setNextPos(getTargetX(), getTargetY());
             }
-            setPos(nextPos.warp(width, height));
+            setPos(RealCoordinates.warp(getNextX(), config.getWidth()),
+                RealCoordinates.warp(getNextY(), config.getHeight()));
         }
     }
 
@@ -648,8 +736,19 @@ public final class Ghost extends Critter {
      * @return {@code boolean} Vrai si le {@link Ghost} à traversé son target, faux sinon.
      */
     public boolean wentThroughTarget(final RealCoordinates nextPos) {
-        final RealCoordinates curPos = getPos();
-        if (curPos.x() == target.x() && curPos.y() == target.y()) {
+        return wentThroughTarget(nextPos.x(), nextPos.y());
+    }
+
+    /**
+     * Version sans allocation de {@link #wentThroughTarget(RealCoordinates)}.
+     * @param nextX Abscisse de la prochaine position
+     * @param nextY Ordonnée de la prochaine position
+     * @return {@code boolean} Vrai si le {@link Ghost} à traversé son target, faux sinon.
+     */
+    public boolean wentThroughTarget(final double nextX, final double nextY) {
+        final double curX = getX();
+        final double curY = getY();
+        if (curX == getTargetX() && curY == getTargetY()) {
             return false;
         }
         boolean isInLine = false;
@@ -657,40 +756,60 @@ public final class Ghost extends Critter {
         // Il va se tp sur le target et nom de l'autre côté du tunnel car la méthode est vraie.
         // Il n'y a pas de vrai moyen pour vérifier cela... La seule combine que j'ai trouvé est de
         // vérifier si les 2 positions ont le même signe
-        if (curPos.x() == target.x() && nextPos.x() == target.x() && curPos.x() * nextPos.x() > 0) {
+        if (curX == getTargetX() && nextX == getTargetX() && curX * nextX > 0) {
             isInLine = true;
         }
-        if (curPos.y() == target.y() && nextPos.y() == target.y() && curPos.y() * nextPos.y() > 0) {
+        if (curY == getTargetY() && nextY == getTargetY() && curY * nextY > 0) {
             isInLine = true;
         }
         if (!isInLine) {
             return false;
         }
-        return curPos.getDirectionTo(target) != nextPos.getDirectionTo(target);
+        return RealCoordinates.getDirectionTo(curX, curY, getTargetX(), getTargetY())
+            != RealCoordinates.getDirectionTo(nextX, nextY, getTargetX(), getTargetY());
     }
 
     /**
      * Méthode qui est appelée lorsqu'un fantôme a une très grande vitesse.
      * On doit alors vérifier qu'entre sa position actuelle et sa prochaine position qu'il n'y
-     * ait pas de murs entre ces 2 positions.
-     * @param end
+     * ait pas de murs entre ces 2 positions. <br>
+     * Le résultat est mémorisé dans la prochaine position du {@link Critter} (pas d'allocation).
+     * @param endX Abscisse de la prochaine position
+     * @param endY Ordonnée de la prochaine position
      * @param config
-     * @return {@link RealCoordinates}
      */
-    public RealCoordinates furthestFreeCell(final RealCoordinates end, final MazeConfig config) {
-        RealCoordinates pos = getPos();
-        final Direction dir = pos.getDirectionTo(end);
-        RealCoordinates tmpPos = pos;
-        while (dir == tmpPos.getDirectionTo(end)) {
+    public void furthestFreeCell(final double endX, final double endY, final MazeConfig config) {
+        final double x = getX();
+        final double y = getY();
+        final Direction dir = RealCoordinates.getDirectionTo(x, y, endX, endY);
+        double tmpX = x;
+        double tmpY = y;
+        while (dir == RealCoordinates.getDirectionTo(tmpX, tmpY, endX, endY)) {
             // Cas où on trouve un mur
-            if (config.getCell(tmpPos.plus(dir.directionToUnit()).toIntCoordinates()).hasWall()) {
-                return tmpPos.roundFromDirection(getDirection());
+            if (config.isWall((int) Math.round(tmpX + dir.getDx()),
+                (int) Math.round(tmpY + dir.getDy()))) {
+                // Arrondie la coordonnée de l'axe de la direction prise.
+                switch (getDirection()) {
+                    case NORTH:
+                    case SOUTH:
+                        setNextPos(tmpX, Math.round(tmpY));
+                        break;
+                    case EAST:
+                    case WEST:
+                        setNextPos(Math.round(tmpX), tmpY);
+                        break;
+                    default:
+                        setNextPos(Math.round(tmpX), Math.round(tmpY));
+                        break;
+                }
+                return;
             } else {
-                tmpPos = tmpPos.plus(dir.directionToUnit());
+                tmpX += dir.getDx();
+                tmpY += dir.getDy();
             }
         }
         // Cas où aucun mur n'a été trouvé, renvoie nextPos
-        return pos.adjustNextPos(end);
+        setNextPos(RealCoordinates.adjustNextPos(x, endX), RealCoordinates.adjustNextPos(y, endY));
     }
 
     //endregion Position
@@ -703,7 +822,7 @@ public final class Ghost extends Critter {
         MazeConfig config = state.getConfig();
         if (getSpeed() != TUNNEL_SPEED && isInTunnel(config)) {
             setSpeed(TUNNEL_SPEED);
-        } else if (getSpeed() != EATEN_SPEED && ghostState == GhostState.EATEN) {
+        } else if (getSpeed() != EATEN_SPEED && getGhostState() == GhostState.EATEN) {
             setSpeed(EATEN_SPEED);
         } else if (getSpeed() != getNormalSpeed()) {
             setSpeed(getNormalSpeed());
@@ -716,7 +835,8 @@ public final class Ghost extends Critter {
      * @return {@code true} si dans un tunnel
      */
     public boolean isInTunnel(final MazeConfig config) {
-        return config.getCell(getPos().toIntCoordinates()).getContent() == Content.TUNNEL;
+        return config.contentAt((int) Math.round(getX()), (int) Math.round(getY()))
+            == Content.TUNNEL;
     }
 
     /**
@@ -726,13 +846,15 @@ public final class Ghost extends Critter {
      * @return true ou false
      */
     public boolean isInSpawn(final MazeConfig config) {
-        Set<IntCoordinates> neighbours = getPos().intNeighbours();
-        for (var cell : neighbours) {
-            if (config.getCell(cell).getContent() == Content.SPAWN) {
-                return true;
-            }
-        }
-        return false;
+        // Cellules superposées par le fantôme (cf RealCoordinates#intNeighbours).
+        final int floorX = (int) Math.floor(getX());
+        final int ceilX = (int) Math.ceil(getX());
+        final int floorY = (int) Math.floor(getY());
+        final int ceilY = (int) Math.ceil(getY());
+        return config.contentAt(floorX, floorY) == Content.SPAWN
+            || config.contentAt(ceilX, floorY) == Content.SPAWN
+            || config.contentAt(floorX, ceilY) == Content.SPAWN
+            || config.contentAt(ceilX, ceilY) == Content.SPAWN;
     }
 
     /**
@@ -751,12 +873,40 @@ public final class Ghost extends Critter {
         return ghostType;
     }
 
+    /**
+     * Renvoie la cible du {@link Ghost} (nouvel objet à chaque appel).
+     * @return {@link RealCoordinates}
+     */
     public RealCoordinates getTarget() {
-        return target;
+        return new RealCoordinates(getTargetX(), getTargetY());
     }
 
+    /**
+     * Change la cible du {@link Ghost}.
+     * @param target {@link RealCoordinates}
+     */
     public void setTarget(final RealCoordinates target) {
-        this.target = target;
+        table.setTarget(index, target.x(), target.y());
+    }
+
+    /**
+     * Renvoie l'abscisse de la cible du {@link Ghost}.
+     * @return {@code double}
+     */
+    public double getTargetX() {
+        return table.getTargetX(index);
+    }
+
+    /**
+     * Renvoie l'ordonnée de la cible du {@link Ghost}.
+     * @return {@code double}
+     */
+    public double getTargetY() {
+        return table.getTargetY(index);
+    }
+
+    private boolean isTarget(final RealCoordinates pos) {
+        return getTargetX() == pos.x() && getTargetY() == pos.y();
     }
 
     public PacMan getPacman() {
@@ -780,11 +930,15 @@ public final class Ghost extends Critter {
     }
 
     public boolean isActivated() {
-        return activated;
+        return table.isActivated(index);
     }
 
+    /**
+     * Active ou désactive le {@link Ghost} (un fantôme désactivé ne bouge pas).
+     * @param activated {@code boolean}
+     */
     public void setActivated(final boolean activated) {
-        this.activated = activated;
+        table.setActivated(index, activated);
     }
 
     public DirectionBuffer getDirectionBuffer() {
@@ -799,18 +953,90 @@ public final class Ghost extends Critter {
         return directionBuffer != null;
     }
 
-    public GraphicsBuffer getGraphicsBuffer() {
-        return graphicsBuffer;
-    }
-
+    /**
+     * Change l'état du {@link Ghost}.
+     * @param ghostState {@link GhostState}
+     */
     public void setGhostState(final GhostState ghostState) {
-        this.ghostState = ghostState;
+        table.setState(index, ghostState);
     }
 
     public GhostState getGhostState() {
-        return ghostState;
+        return table.getState(index);
+    }
+
+    /**
+     * Renvoie l'indice du fantôme dans la {@link GhostTable} de la partie.
+     * @return {@code int}
+     */
+    public int getIndex() {
+        return index;
     }
 
+    // region Stockage dans la GhostTable
+
+    @Override
+    public RealCoordinates getPos() {
+        return table.getPos(index);
+    }
+
+    @Override
+    public void setPos(final RealCoordinates pos) {
+        table.setPos(index, pos);
+    }
+
+    @Override
+    public void setPos(final double newX, final double newY) {
+        table.setPos(index, newX, newY);
+    }
+
+    @Override
+    public double getX() {
+        return table.getX(index);
+    }
+
+    @Override
+    public double getY() {
+        return table.getY(index);
+    }
+
+    @Override
+    protected void setNextPos(final double newX, final double newY) {
+        table.setNextPos(index, newX, newY);
+    }
+
+    @Override
+    protected double getNextX() {
+        return table.getNextX(index);
+    }
+
+    @Override
+    protected double getNextY() {
+        return table.getNextY(index);
+    }
+
+    @Override
+    public Direction getDirection() {
+        return table.getDirection(index);
+    }
+
+    @Override
+    public void setDirection(final Direction direction) {
+        table.setDirection(index, direction);
+    }
+
+    @Override
+    public double getSpeed() {
+        return table.getSpeed(index);
+    }
+
+    @Override
+    public void setSpeed(final double speed) {
+        table.setSpeed(index, speed);
+    }
+
+    // endregion
+
     /** Méthode qui remet le chaseTarget à null lors de réinitialisation. */
     public void setChaseTargetNull() {
         this.chaseTarget = null;
@@ -0,0 +1,54 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Passe sur les indices de la {@link GhostTable}, découpée récursivement en tâches
+ * exécutées par le {@link ForkJoinPool} commun (cf {@link MazeState#setParallelGhosts}).
+ * <p>L'action ne doit modifier que la ligne du fantôme qu'elle reçoit.
+ */
+final class GhostPass extends RecursiveAction {
+    /** Nombre de fantômes en dessous duquel une tâche n'est plus découpée. */
+    static final int THRESHOLD = 16;
+    private static final long serialVersionUID = 1L;
+
+    private final transient IntConsumer action;
+    private final int from;
+    private final int to;
+
+    private GhostPass(final IntConsumer action, final int from, final int to) {
+        this.action = action;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Applique l'action à chaque indice de {@code [0, size)} et attend la fin de la passe.
+     * Les petites passes sont exécutées directement par le thread appelant.
+     * @param size Nombre de fantômes
+     * @param action Action appliquée à chaque indice
+     */
+    static void invoke(final int size, final IntConsumer action) {
+        if (size <= THRESHOLD) {
+            for (int i = 0; i < size; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new GhostPass(action, 0, size));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        invokeAll(new GhostPass(action, from, middle), new GhostPass(action, middle, to));
+    }
+}
@@ -0,0 +1,496 @@
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import geometry.RealCoordinates;
+import model.Ghost.GhostState;
+
+/**
+ * Etat de tous les {@link Ghost} d'une partie, rangé colonne par colonne
+ * (un tableau primitif par attribut, indexé par le numéro du fantôme).
+ * <p>Un {@link Ghost} n'est plus qu'une poignée vers sa ligne de la table : la boucle de
+ * mise à jour parcourt des tableaux contigus, ce qui permet de simuler des centaines de
+ * fantômes (cf clé {@code "ghosts"} du bloc {@code "config"} des cartes).
+ * <p>La table sert aussi d'index spatial : les fantômes sont rangés par cellule (celle de
+ * leur position arrondie) dans des listes chaînées mises à jour à chaque déplacement, ce
+ * qui permet de trouver les fantômes proches d'une position sans parcourir toute la table
+ * (cf {@link #findInRange(double, double, double)}).
+ */
+public final class GhostTable {
+    /** Valeur des listes chaînées pour "aucun fantôme". */
+    private static final int NO_GHOST = -1;
+    private static final GhostState[] STATES = GhostState.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private int size = 0;
+    private final Ghost[] ghosts;
+    private final double[] x;
+    private final double[] y;
+    /** {@link RealCoordinates} de la position, créé à la demande par {@link #getPos(int)}. */
+    private final RealCoordinates[] pos;
+    private final double[] nextX;
+    private final double[] nextY;
+    /** Position au début du tick (cf {@link #savePositions()}), pour les collisions continues. */
+    private final double[] startX;
+    private final double[] startY;
+    private final double[] speed;
+    /** Ordinal de la {@link Direction} de chaque fantôme. */
+    private final byte[] direction;
+    /** Ordinal du {@link GhostState} de chaque fantôme. */
+    private final byte[] state;
+    private final boolean[] activated;
+    private final double[] targetX;
+    private final double[] targetY;
+    /** Largeur de la carte (index spatial). */
+    private final int width;
+    /** Hauteur de la carte (index spatial). */
+    private final int height;
+    /** Premier fantôme de chaque cellule (indice {@code y * width + x}). */
+    private final int[] cellHead;
+    /** Cellule de chaque fantôme dans l'index spatial. */
+    private final int[] cell;
+    /** Fantôme suivant dans la même cellule. */
+    private final int[] nextInCell;
+    /** Fantôme précédent dans la même cellule. */
+    private final int[] prevInCell;
+    /** Indices (croissants) des fantômes trouvés par {@link #findInRange}. */
+    private final int[] found;
+    /** Nombre de fantômes trouvés par {@link #findInRange}. */
+    private int foundCount = 0;
+    /** Si la mise à jour de l'index spatial est reportée (cf {@link #suspendIndex()}). */
+    private boolean indexSuspended = false;
+
+    /** Générateur aléatoire propre à chaque fantôme (directions en mode apeuré). */
+    private final SplittableRandom[] random;
+    /** Générateur dont sont issus ceux des fantômes, dans l'ordre d'ajout. */
+    private SplittableRandom seeds = new SplittableRandom();
+
+    /**
+     * Constructeur d'une table vide.
+     * @param capacity Nombre maximum de fantômes
+     * @param width Largeur de la carte
+     * @param height Hauteur de la carte
+     */
+    public GhostTable(final int capacity, final int width, final int height) {
+        final int length = Math.max(1, capacity);
+        ghosts = new Ghost[length];
+        x = new double[length];
+        y = new double[length];
+        pos = new RealCoordinates[length];
+        nextX = new double[length];
+        nextY = new double[length];
+        startX = new double[length];
+        startY = new double[length];
+        speed = new double[length];
+        direction = new byte[length];
+        state = new byte[length];
+        activated = new boolean[length];
+        targetX = new double[length];
+        targetY = new double[length];
+        random = new SplittableRandom[length];
+        this.width = width;
+        this.height = height;
+        cellHead = new int[width * height];
+        Arrays.fill(cellHead, NO_GHOST);
+        cell = new int[length];
+        nextInCell = new int[length];
+        prevInCell = new int[length];
+        found = new int[length];
+    }
+
+    /**
+     * Ajoute un fantôme à la table, avec les valeurs initiales d'un {@link Critter}.
+     * @param ghost {@link Ghost}
+     * @return {@code int} Indice du fantôme dans la table
+     */
+    int add(final Ghost ghost) {
+        if (size == ghosts.length) {
+            throw new IllegalStateException("GhostTable pleine (" + size + " fantômes)");
+        }
+        ghosts[size] = ghost;
+        speed[size] = Critter.getNormalSpeed();
+        direction[size] = (byte) Direction.NONE.ordinal();
+        state[size] = (byte) GhostState.NORMAL.ordinal();
+        random[size] = seeds.split();
+        cell[size] = cellOf(0, 0);
+        link(size);
+        return size++;
+    }
+
+    /**
+     * Réinitialise les générateurs aléatoires des fantômes à partir d'une graine : deux
+     * parties avec la même graine prennent les mêmes directions aléatoires, que les
+     * fantômes soient mis à jour en série ou en parallèle.
+     * @param seed Graine
+     */
+    public void setSeed(final long seed) {
+        seeds = new SplittableRandom(seed);
+        for (int i = 0; i < size; i++) {
+            random[i] = seeds.split();
+        }
+    }
+
+    /**
+     * Renvoie le nombre de fantômes de la table.
+     * @return {@code int}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Renvoie le fantôme d'indice i.
+     * @param i Indice du fantôme
+     * @return {@link Ghost}
+     */
+    public Ghost get(final int i) {
+        return ghosts[i];
+    }
+
+    /**
+     * Passe en {@link GhostState#FRIGHTENED} tous les fantômes dans l'état
+     * {@link GhostState#NORMAL} ; ceux qui ne sont pas joués font demi-tour.
+     */
+    public void frightenAll() {
+        final byte normal = (byte) GhostState.NORMAL.ordinal();
+        for (int i = 0; i < size; i++) {
+            if (state[i] == normal) {
+                state[i] = (byte) GhostState.FRIGHTENED.ordinal();
+                if (!ghosts[i].isPlayer()) {
+                    direction[i] = (byte) DIRECTIONS[direction[i]].getOpposite().ordinal();
+                }
+            }
+        }
+    }
+
+    /** Remet dans l'état {@link GhostState#NORMAL} tous les fantômes apeurés. */
+    public void calmAll() {
+        final byte frightened = (byte) GhostState.FRIGHTENED.ordinal();
+        for (int i = 0; i < size; i++) {
+            if (state[i] == frightened) {
+                state[i] = (byte) GhostState.NORMAL.ordinal();
+            }
+        }
+    }
+
+    // region Index spatial
+
+    /**
+     * Vide la liste des fantômes trouvés (cf {@link #findInRange}).
+     */
+    public void clearFound() {
+        foundCount = 0;
+    }
+
+    /**
+     * Ajoute aux fantômes trouvés ceux dont la position est à au plus {@code range}
+     * de (px, py) sur chaque axe. Seules les cellules voisines de la position sont
+     * parcourues ; la liste reste triée par indice et sans doublon, ce qui permet
+     * d'enchaîner plusieurs recherches (un appel par Pac-Man).
+     * @param px Abscisse de la position
+     * @param py Ordonnée de la position
+     * @param range Distance maximale sur chaque axe
+     * @return {@code int} Nombre de fantômes trouvés
+     */
+    public int findInRange(final double px, final double py, final double range) {
+        long minX = Math.round(px - range);
+        long maxX = Math.round(px + range);
+        long minY = Math.round(py - range);
+        long maxY = Math.round(py + range);
+        // Inutile de parcourir plusieurs fois les mêmes cellules si la zone dépasse la carte.
+        if (maxX - minX >= width) {
+            minX = 0;
+            maxX = width - 1;
+        }
+        if (maxY - minY >= height) {
+            minY = 0;
+            maxY = height - 1;
+        }
+        for (long cy = minY; cy <= maxY; cy++) {
+            for (long cx = minX; cx <= maxX; cx++) {
+                int i = cellHead[cellOf(cx, cy)];
+                while (i != NO_GHOST) {
+                    if (Math.abs(x[i] - px) <= range && Math.abs(y[i] - py) <= range) {
+                        addFound(i);
+                    }
+                    i = nextInCell[i];
+                }
+            }
+        }
+        return foundCount;
+    }
+
+    /**
+     * Reporte la mise à jour de l'index spatial : les listes chaînées des cellules sont
+     * partagées entre fantômes et ne peuvent pas être modifiées pendant une passe
+     * parallèle (cf {@link GhostPass}).
+     */
+    public void suspendIndex() {
+        indexSuspended = true;
+    }
+
+    /** Met à jour l'index spatial avec les positions modifiées depuis {@link #suspendIndex()}. */
+    public void resumeIndex() {
+        indexSuspended = false;
+        for (int i = 0; i < size; i++) {
+            move(i);
+        }
+    }
+
+    /** Mémorise la position de chaque fantôme au début du tick. */
+    public void savePositions() {
+        System.arraycopy(x, 0, startX, 0, size);
+        System.arraycopy(y, 0, startY, 0, size);
+    }
+
+    /**
+     * Renvoie le plus grand déplacement (sur un axe) d'un fantôme depuis
+     * {@link #savePositions()}, sans compter les téléportations des tunnels.
+     * @return {@code double}
+     */
+    public double getMaxMove() {
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, Math.abs(unwrap(x[i] - startX[i], width)));
+            max = Math.max(max, Math.abs(unwrap(y[i] - startY[i], height)));
+        }
+        return max;
+    }
+
+    /**
+     * Collision continue : renvoie vrai si, à un même instant du tick, le fantôme i et un
+     * Pac-Man allant de (startPx, startPy) à (endPx, endPy) ont été à au plus {@code range}
+     * l'un de l'autre sur chaque axe. Les 2 trajets sont supposés rectilignes et parcourus
+     * à vitesse constante, depuis la position mémorisée par {@link #savePositions()}.
+     * <p>Contrairement à un test sur les seules positions de fin de tick, un fantôme
+     * rapide ne peut pas traverser Pac-Man lors d'un long tick.
+     * @param i Indice du fantôme
+     * @param startPx Abscisse de Pac-Man au début du tick
+     * @param startPy Ordonnée de Pac-Man au début du tick
+     * @param endPx Abscisse de Pac-Man à la fin du tick
+     * @param endPy Ordonnée de Pac-Man à la fin du tick
+     * @param range Distance maximale sur chaque axe
+     * @return {@code boolean}
+     */
+    public boolean sweptHit(final int i, final double startPx, final double startPy,
+            final double endPx, final double endPy, final double range) {
+        // Position relative du fantôme par rapport à Pac-Man : d(t) = d0 + v * t, t dans [0, 1].
+        final double d0x = startX[i] - startPx;
+        final double d0y = startY[i] - startPy;
+        final double vx = unwrap(x[i] - startX[i], width) - unwrap(endPx - startPx, width);
+        final double vy = unwrap(y[i] - startY[i], height) - unwrap(endPy - startPy, height);
+        double enter = 0;
+        double exit = 1;
+        if (vx == 0) {
+            if (Math.abs(d0x) > range) {
+                return false;
+            }
+        } else {
+            final double t1 = (-range - d0x) / vx;
+            final double t2 = (range - d0x) / vx;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        if (vy == 0) {
+            if (Math.abs(d0y) > range) {
+                return false;
+            }
+        } else {
+            final double t1 = (-range - d0y) / vy;
+            final double t2 = (range - d0y) / vy;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        return enter <= exit;
+    }
+
+    /**
+     * Ramène un déplacement sur un axe à moins d'une demi-carte : un déplacement plus grand
+     * est une téléportation par un tunnel.
+     * @param delta Déplacement
+     * @param size Taille de la carte sur l'axe
+     * @return {@code double}
+     */
+    static double unwrap(final double delta, final int size) {
+        if (delta > size / 2.0) {
+            return delta - size;
+        } else if (delta < -size / 2.0) {
+            return delta + size;
+        }
+        return delta;
+    }
+
+    /**
+     * Renvoie le k-ième fantôme trouvé par {@link #findInRange}.
+     * @param k Rang dans la liste (de 0 à {@link #getFoundCount()} exclus)
+     * @return {@code int} Indice du fantôme
+     */
+    public int getFound(final int k) {
+        return found[k];
+    }
+
+    public int getFoundCount() {
+        return foundCount;
+    }
+
+    /**
+     * Insère un indice dans {@link #found} en gardant l'ordre croissant.
+     * @param i Indice du fantôme
+     */
+    private void addFound(final int i) {
+        int k = foundCount;
+        while (k > 0 && found[k - 1] > i) {
+            k--;
+        }
+        if (k > 0 && found[k - 1] == i) {
+            return;
+        }
+        System.arraycopy(found, k, found, k + 1, foundCount - k);
+        found[k] = i;
+        foundCount++;
+    }
+
+    private int cellOf(final long cellX, final long cellY) {
+        return Math.floorMod(cellY, height) * width + Math.floorMod(cellX, width);
+    }
+
+    /**
+     * Met à jour la cellule du fantôme i après un déplacement.
+     * @param i Indice du fantôme
+     */
+    private void move(final int i) {
+        if (indexSuspended) {
+            return;
+        }
+        final int newCell = cellOf(Math.round(x[i]), Math.round(y[i]));
+        if (newCell != cell[i]) {
+            unlink(i);
+            cell[i] = newCell;
+            link(i);
+        }
+    }
+
+    private void link(final int i) {
+        final int head = cellHead[cell[i]];
+        prevInCell[i] = NO_GHOST;
+        nextInCell[i] = head;
+        if (head != NO_GHOST) {
+            prevInCell[head] = i;
+        }
+        cellHead[cell[i]] = i;
+    }
+
+    private void unlink(final int i) {
+        if (prevInCell[i] != NO_GHOST) {
+            nextInCell[prevInCell[i]] = nextInCell[i];
+        } else {
+            cellHead[cell[i]] = nextInCell[i];
+        }
+        if (nextInCell[i] != NO_GHOST) {
+            prevInCell[nextInCell[i]] = prevInCell[i];
+        }
+    }
+
+    // endregion
+
+    // region Accès aux colonnes (utilisés par Ghost)
+
+    double getX(final int i) {
+        return x[i];
+    }
+
+    double getY(final int i) {
+        return y[i];
+    }
+
+    RealCoordinates getPos(final int i) {
+        if (pos[i] == null) {
+            pos[i] = new RealCoordinates(x[i], y[i]);
+        }
+        return pos[i];
+    }
+
+    void setPos(final int i, final RealCoordinates newPos) {
+        x[i] = newPos.x();
+        y[i] = newPos.y();
+        pos[i] = newPos;
+        move(i);
+    }
+
+    void setPos(final int i, final double newX, final double newY) {
+        x[i] = newX;
+        y[i] = newY;
+        pos[i] = null;
+        move(i);
+    }
+
+    double getNextX(final int i) {
+        return nextX[i];
+    }
+
+    double getNextY(final int i) {
+        return nextY[i];
+    }
+
+    void setNextPos(final int i, final double newX, final double newY) {
+        nextX[i] = newX;
+        nextY[i] = newY;
+    }
+
+    double getSpeed(final int i) {
+        return speed[i];
+    }
+
+    void setSpeed(final int i, final double newSpeed) {
+        speed[i] = newSpeed;
+    }
+
+    Direction getDirection(final int i) {
+        return DIRECTIONS[direction[i]];
+    }
+
+    void setDirection(final int i, final Direction newDirection) {
+        direction[i] = (byte) newDirection.ordinal();
+    }
+
+    GhostState getState(final int i) {
+        return STATES[state[i]];
+    }
+
+    void setState(final int i, final GhostState newState) {
+        state[i] = (byte) newState.ordinal();
+    }
+
+    boolean isActivated(final int i) {
+        return activated[i];
+    }
+
+    void setActivated(final int i, final boolean value) {
+        activated[i] = value;
+    }
+
+    double getTargetX(final int i) {
+        return targetX[i];
+    }
+
+    double getTargetY(final int i) {
+        return targetY[i];
+    }
+
+    void setTarget(final int i, final double newX, final double newY) {
+        targetX[i] = newX;
+        targetY[i] = newY;
+    }
+
+    /**
+     * Tire un nombre aléatoire avec le générateur du fantôme d'indice i.
+     * @param i Indice du fantôme
+     * @return {@code double} entre 0 (inclus) et 1 (exclus)
+     */
+    double nextRandom(final int i) {
+        return random[i].nextDouble();
+    }
+
+    // endregion
+}
@@ -1,13 +1,7 @@
 package model;
 
-import java.util.concurrent.TimeUnit;
-
 import config.MazeConfig;
-import geometry.RealCoordinates;
-import gui.GameView;
-import gui.InGameGui;
 import model.Ghost.GhostState;
-import utils.Music;
 
 public final class MazeState {
     /** Liste des modes. */
@@ -29,10 +23,15 @@ public final class MazeState {
     private final MazeConfig config;
 
     private static final double COLLISION_RANGE = 0.8;
+    /** Durée (en nanosecondes) pendant laquelle le jeu est figé après avoir mangé un fantôme. */
+    private static final long FREEZE_DURATION = 500_000_000L;
     private static final int TOTAL_LIVES = 3;
-    private static int ghostEatenCount = 0;
+    private int ghostEatenCount = 0;
     private int lives;
 
+    /** Reçoit les évènements de la partie (sons, fantôme mangé...). */
+    private GameListener listener = GameListener.NONE;
+
     /** {@link GameState} actuel. */
     private GameState gameState = GameState.SCATTER;
     /** Chronomètre depuis le début de la partie. */
@@ -42,6 +41,10 @@ public final class MazeState {
     private int eatenPacgomme = 0;
 
     private boolean win = false;
+    /** Temps restant (en nanosecondes) avant la fin du gel du jeu. */
+    private long freezeTimer = 0;
+    /** Si les {@link Ghost} sont mis à jour en parallèle (cf {@link #updateGhost}). */
+    private boolean parallelGhosts = false;
     /**
      * Constructeur qui initialise les infos de la partie.
      * @param newConfig {@link MazeConfig#config} Configuration utilisée
@@ -54,10 +57,26 @@ public final class MazeState {
 
     /**
      * Méthode appelée à chaque tick pour mettre à jour l'état de la carte.
-     * @param deltaTns Durée d'un tick.
+     * Si le jeu est figé (un fantôme vient d'être mangé), le tick est d'abord
+     * consommé par le gel, et seul le temps restant fait avancer la partie.
+     * @param tick Durée d'un tick.
      */
-    public void update(final long deltaTns) {
+    public void update(final long tick) {
+        long deltaTns = tick;
+        if (freezeTimer > 0) {
+            if (deltaTns <= freezeTimer) {
+                freezeTimer -= deltaTns;
+                return;
+            }
+            deltaTns -= freezeTimer;
+            freezeTimer = 0;
+        }
         if (lives > 0 && !win) {
+            // Positions de début de tick, pour les collisions continues (cf updateCollision).
+            final double pacmanX = config.getPacman().getX();
+            final double pacmanY = config.getPacman().getY();
+            final double pacman2X = config.isCoop() ? config.getPacman2().getX() : 0;
+            final double pacman2Y = config.isCoop() ? config.getPacman2().getY() : 0;
             config.getPacman().updatePacMan(this, deltaTns);
             boolean hasStarted = false;
             if (currentLiveTime == null) {
@@ -72,26 +91,54 @@ public final class MazeState {
             if (currentLiveTime == null && hasStarted) {
                 currentLiveTime = 0.0;
                 config.activateGhost();
-                Music.playLoopingBgMusic("siren_1");
+                listener.playLoopingBgMusic("siren_1");
             } else if (currentLiveTime != null) {
+                config.getGhostTable().savePositions();
                 updateGhost(deltaTns);
                 currentLiveTime += deltaTns / NANOSECONDS;
-                updateCollision();
+                updateCollision(pacmanX, pacmanY, pacman2X, pacman2Y);
+            }
+            if (currentLiveTime != null && eatenPacgomme >= config.getTotalPacGomme()) {
+                playerWin();
             }
         }
     }
 
     /**
-     * Met à jour les paramètres des {@link Ghost}.
+     * Met à jour les paramètres des {@link Ghost} en 2 phases : chaque fantôme choisit
+     * d'abord son état, sa cible et sa direction en ne lisant que les positions du début
+     * du tick, puis tous les fantômes se déplacent. Chaque phase ne modifie que la ligne
+     * de la {@link GhostTable} du fantôme traité : le résultat est identique que les
+     * phases soient exécutées en série ou en parallèle (cf {@link #setParallelGhosts}).
      * @param deltaTns Tick par temps.
      */
     public void updateGhost(final long deltaTns) {
-        for (Ghost ghost : config.getGhostList()) {
-            if (ghost.isPlayer()) {
-                ghost.updatePlayerGhost(this, deltaTns);
-                continue;
+        final GhostTable ghosts = config.getGhostTable();
+        final int size = ghosts.size();
+        final boolean coop = config.isCoop();
+        if (coop) {
+            // En Coop, le choix du Pac-Man poursuivi modifie des compteurs partagés
+            // par les fantômes : les cibles sont calculées en série, dans l'ordre.
+            for (int i = 0; i < size; i++) {
+                final Ghost ghost = ghosts.get(i);
+                if (!ghost.isPlayer()) {
+                    ghost.updateState(this);
+                    ghost.updateTarget(this);
+                }
+            }
+        }
+        if (parallelGhosts) {
+            GhostPass.invoke(size, i -> decideGhost(ghosts.get(i), !coop));
+            ghosts.suspendIndex();
+            GhostPass.invoke(size, i -> moveGhost(ghosts.get(i), deltaTns));
+            ghosts.resumeIndex();
+        } else {
+            for (int i = 0; i < size; i++) {
+                decideGhost(ghosts.get(i), !coop);
+            }
+            for (int i = 0; i < size; i++) {
+                moveGhost(ghosts.get(i), deltaTns);
             }
-            ghost.updateGhost(this, deltaTns);
         }
         // Update gameState
         if (gameState != GameState.FRIGHTENED && gameState != getCurrentState()) {
@@ -100,32 +147,52 @@ public final class MazeState {
         energizedCheck();
     }
 
+    /**
+     * Première phase de la mise à jour d'un {@link Ghost} non joué : état et cible
+     * (si {@code withTarget}), puis direction.
+     * @param ghost {@link Ghost}
+     * @param withTarget {@code false} si l'état et la cible ont déjà été mis à jour
+     */
+    private void decideGhost(final Ghost ghost, final boolean withTarget) {
+        if (ghost.isPlayer()) {
+            return;
+        }
+        if (withTarget) {
+            ghost.updateState(this);
+            ghost.updateTarget(this);
+        }
+        ghost.updateDirection(this);
+    }
+
+    /**
+     * Seconde phase de la mise à jour d'un {@link Ghost} : position et vitesse.
+     * Le fantôme joueur est entièrement mis à jour pendant cette phase.
+     * @param ghost {@link Ghost}
+     * @param deltaTns Tick par temps.
+     */
+    private void moveGhost(final Ghost ghost, final long deltaTns) {
+        if (ghost.isPlayer()) {
+            ghost.updatePlayerGhost(this, deltaTns);
+            return;
+        }
+        ghost.updatePosition(deltaTns, config);
+        ghost.updateSpeed(this);
+    }
+
     /**
      * Méthode qui actualise l'état actuel du jeu en fonction de si pacman est énergisé.
      */
     public void energizedCheck() {
         if (config.getPacman().isEnergized() && gameState != GameState.FRIGHTENED) {
-            Music.playSound("energizer");
-            Music.playLoopingBgMusic("energized");
-            for (Ghost ghost : config.getGhostList()) {
-                if (ghost.getGhostState() == GhostState.NORMAL) {
-                    ghost.setGhostState(GhostState.FRIGHTENED);
-                    if (ghost.isPlayer()) {
-                        continue;
-                    }
-                    ghost.setDirection(ghost.getDirection().getOpposite());
-                }
-            }
+            listener.playSound("energizer");
+            listener.playLoopingBgMusic("energized");
+            config.getGhostTable().frightenAll();
             gameState = GameState.FRIGHTENED;
         } else if (!config.getPacman().isEnergized() && gameState == GameState.FRIGHTENED) {
             setGhostEatenCount(0);
-            for (Ghost ghost : config.getGhostList()) {
-                if (ghost.getGhostState() == GhostState.FRIGHTENED)  {
-                    ghost.setGhostState(GhostState.NORMAL);
-                }
-            }
+            config.getGhostTable().calmAll();
             gameState = getCurrentState();
-            Music.playLoopingBgMusic("siren_1");
+            listener.playLoopingBgMusic("siren_1");
         }
     }
 
@@ -134,49 +201,67 @@ public final class MazeState {
      * La méthode appelle la méthode {@link #playerLost} lorsque Pac-Man est au
      * contact d'un fantôme. Si Pac-Man est {@link PacMan#energized}, le score
      * augmente de 10 et le fantôme revient à sa position initiale.
+     * <p>Le contact est testé sur tout le trajet du tick (cf {@link GhostTable#sweptHit}) :
+     * le résultat ne dépend pas de la durée des ticks. Seuls les fantômes des cellules
+     * voisines de chaque Pac-Man, à la distance parcourue près, sont testés (index spatial
+     * de la {@link GhostTable}) ; ils sont traités dans l'ordre de la table.
+     * @param pacmanX Abscisse de Pac-Man au début du tick
+     * @param pacmanY Ordonnée de Pac-Man au début du tick
+     * @param pacman2X Abscisse de Pac-Man 2 au début du tick (Coop)
+     * @param pacman2Y Ordonnée de Pac-Man 2 au début du tick (Coop)
      */
-    private void updateCollision() {
+    private void updateCollision(final double pacmanX, final double pacmanY,
+            final double pacman2X, final double pacman2Y) {
         final int eatScore = 200;
-        final RealCoordinates pacmanPos = config.getPacman().getPos();
-        RealCoordinates pacman2Pos = new RealCoordinates(0, 0);
-        if (config.isCoop()) {
-            pacman2Pos = config.getPacman2().getPos();
+        final GhostTable ghosts = config.getGhostTable();
+        final PacMan pacman = config.getPacman();
+        final PacMan pacman2 = config.getPacman2();
+        final double ghostMove = ghosts.getMaxMove();
+        ghosts.clearFound();
+        ghosts.findInRange(pacman.getX(), pacman.getY(),
+            COLLISION_RANGE + ghostMove + travel(pacman, pacmanX, pacmanY));
+        if (pacman2 != null) {
+            ghosts.findInRange(pacman2.getX(), pacman2.getY(),
+                COLLISION_RANGE + ghostMove + travel(pacman2, pacman2X, pacman2Y));
         }
-
-        for (Ghost ghost : config.getGhostList()) {
-            final RealCoordinates ghostPos = ghost.getPos();
-            if (Math.abs(ghostPos.x() - pacmanPos.x()) <= COLLISION_RANGE
-            && Math.abs(ghostPos.y() - pacmanPos.y()) <= COLLISION_RANGE
-            || Math.abs(ghostPos.x() - pacman2Pos.x()) <= COLLISION_RANGE
-            && Math.abs(ghostPos.y() - pacman2Pos.y()) <= COLLISION_RANGE) {
-                if (ghost.getGhostState() == GhostState.FRIGHTENED
-                && config.getPacman().isEnergized()) {
-                    Music.playSound("eatghost");
-                    ghost.setGhostState(GhostState.EATEN);
-                    ghost.setTarget(config.getGhostSpawnEntrance());
-                    addScore(eatScore * (int) Math.pow(2, ghostEatenCount));
-                    freezeGame(eatScore * (int) Math.pow(2, ghostEatenCount), ghost);
-                    setGhostEatenCount(ghostEatenCount + 1);
-                } else if (ghost.getGhostState() == GhostState.NORMAL) {
-                    setGhostEatenCount(0);
-                    playerLost();
-                    return;
-                }
+        for (int k = 0; k < ghosts.getFoundCount(); k++) {
+            final int i = ghosts.getFound(k);
+            final boolean hit = ghosts.sweptHit(i, pacmanX, pacmanY,
+                    pacman.getX(), pacman.getY(), COLLISION_RANGE)
+                || pacman2 != null && ghosts.sweptHit(i, pacman2X, pacman2Y,
+                    pacman2.getX(), pacman2.getY(), COLLISION_RANGE);
+            if (!hit) {
+                continue;
+            }
+            final Ghost ghost = ghosts.get(i);
+            if (ghost.getGhostState() == GhostState.FRIGHTENED
+            && config.getPacman().isEnergized()) {
+                listener.playSound("eatghost");
+                ghost.setGhostState(GhostState.EATEN);
+                ghost.setTarget(config.getGhostSpawnEntrance());
+                addScore(eatScore * (int) Math.pow(2, ghostEatenCount));
+                listener.ghostEaten(eatScore * (int) Math.pow(2, ghostEatenCount), ghost);
+                freezeTimer = FREEZE_DURATION;
+                setGhostEatenCount(ghostEatenCount + 1);
+            } else if (ghost.getGhostState() == GhostState.NORMAL) {
+                setGhostEatenCount(0);
+                playerLost();
+                return;
             }
         }
     }
 
-    private void freezeGame(final int eatScore, final Ghost ghost) {
-        final long duration = 500;
-        InGameGui.showEatGhostPoints(eatScore, ghost);
-        GameView.INSTANCE.stopAnimation();
-        try {
-            TimeUnit.MILLISECONDS.sleep(duration);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-            Thread.currentThread().interrupt();
-        }
-        GameView.INSTANCE.animate();
+    /**
+     * Renvoie le plus grand déplacement (sur un axe) d'un {@link PacMan} pendant le tick,
+     * sans compter les téléportations des tunnels.
+     * @param pac {@link PacMan}
+     * @param startX Abscisse au début du tick
+     * @param startY Ordonnée au début du tick
+     * @return {@code double}
+     */
+    private double travel(final PacMan pac, final double startX, final double startY) {
+        return Math.max(Math.abs(GhostTable.unwrap(pac.getX() - startX, config.getWidth())),
+            Math.abs(GhostTable.unwrap(pac.getY() - startY, config.getHeight())));
     }
 
     /**
@@ -219,11 +304,11 @@ public final class MazeState {
         lives--;
         totalTime += currentLiveTime;
         currentLiveTime = null;
-        Music.stopBackgroundMusic();
+        listener.stopBackgroundMusic();
         if (lives == 0) {
-            Music.playSound("gameOver");
+            listener.playSound("gameOver");
         } else {
-            Music.playSound("fail");
+            listener.playSound("fail");
         }
         resetCritters();
     }
@@ -259,9 +344,9 @@ public final class MazeState {
             config.getPacman().resetPacMan();
             if (config.isCoop()) {
                 config.getPacman2().resetPacMan();
-                config.getPacman2().getGraphicsBuffer().setResetPacImg(true);
+                listener.pacManReset(config.getPacman2());
             }
-            config.getPacman().getGraphicsBuffer().setResetPacImg(true);
+            listener.pacManReset(config.getPacman());
         }
     }
 
@@ -302,6 +387,34 @@ public final class MazeState {
         return eatenPacgomme;
     }
 
+    /**
+     * Renvoie vrai si le jeu est figé après qu'un fantôme a été mangé.
+     * @return {@code boolean}
+     */
+    public boolean isFrozen() {
+        return freezeTimer > 0;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    /**
+     * Renvoie vrai si la partie est terminée (victoire ou plus de vie).
+     * @return {@code boolean}
+     */
+    public boolean isOver() {
+        return win || lives == 0;
+    }
+
+    public GameListener getListener() {
+        return listener;
+    }
+
+    public void setListener(final GameListener listener) {
+        this.listener = listener;
+    }
+
     public void setGameState(final GameState gameState) {
         this.gameState = gameState;
     }
@@ -326,7 +439,21 @@ public final class MazeState {
         return totalTime + currentLiveTime;
     }
 
-    public static void setGhostEatenCount(final int ghostEatenCount) {
-        MazeState.ghostEatenCount = ghostEatenCount;
+    public void setGhostEatenCount(final int ghostEatenCount) {
+        this.ghostEatenCount = ghostEatenCount;
+    }
+
+    public boolean isParallelGhosts() {
+        return parallelGhosts;
+    }
+
+    /**
+     * Active la mise à jour des {@link Ghost} en parallèle sur le {@link
+     * java.util.concurrent.ForkJoinPool} commun, utile avec beaucoup de fantômes.
+     * Le résultat de la partie ne dépend pas de ce choix.
+     * @param parallelGhosts {@code true} pour la mise à jour en parallèle
+     */
+    public void setParallelGhosts(final boolean parallelGhosts) {
+        this.parallelGhosts = parallelGhosts;
     }
 }
@@ -4,10 +4,7 @@ package model;
 import config.Cell;
 import config.MazeConfig;
 
-import geometry.IntCoordinates;
 import geometry.RealCoordinates;
-import gui.graphics.GraphicsBuffer;
-import utils.Music;
 
 public final class PacMan extends Critter {
 
@@ -16,13 +13,25 @@ public final class PacMan extends Critter {
 
     private static double energizedDuration = 0;
 
+    /** Position en abscisse, source de vérité de la position de {@link PacMan}. */
+    private double posX;
+    /** Position en ordonnée, source de vérité de la position de {@link PacMan}. */
+    private double posY;
+    /** {@link RealCoordinates} de la position, créé à la demande par {@link #getPos()}. */
+    private RealCoordinates pos;
+    /** Prochaine position en abscisse calculée pendant un déplacement. */
+    private double nextPosX;
+    /** Prochaine position en ordonnée calculée pendant un déplacement. */
+    private double nextPosY;
+    private double speed = getNormalSpeed();
+    private Direction direction = Direction.NONE;
+
     /** Dernière {@link Direction} de {@link PacMan} qui n'est pas {@link Direction#NONE}. */
     private Direction lastDirection = Direction.NONE;
     // Etat énergisé de PacMan :
     private static double energizedTimer = 0;
     private boolean energized = false;
     private DirectionBuffer directionBuffer = new DirectionBuffer();
-    private GraphicsBuffer graphicsBuffer = new GraphicsBuffer();
 
     private String image;
     /** Paramètre pour le mode Coop.*/
@@ -35,7 +44,7 @@ public final class PacMan extends Critter {
      */
     public void updatePacMan(final MazeState state, final long deltaTns) {
         updateLastDirection();
-        eat(getPos(), true, state);
+        eat(getX(), getY(), true, state);
         if (directionBuffer.isBufferDirectionValid(this, deltaTns, state.getConfig())) {
             setDirection(directionBuffer.getBufferDirection());
         }
@@ -65,16 +74,31 @@ public final class PacMan extends Critter {
      * @return Renvoei true si PacMan a mangé quelque chose.
      */
     public boolean eat(final RealCoordinates pacPos, final boolean sound, final MazeState state) {
-        IntCoordinates pos = pacPos.toIntCoordinates();
-        Cell c = state.getConfig().getCell(pos);
-        if (c.getContent() == Cell.Content.DOT || c.getContent() == Cell.Content.ENERGIZER) {
-            if (c.getContent() == Cell.Content.DOT) {
+        return eat(pacPos.x(), pacPos.y(), sound, state);
+    }
+
+    /**
+     * Version sans allocation de {@link #eat(RealCoordinates, boolean, MazeState)}.
+     * @param x Abscisse de Pac-Man
+     * @param y Ordonnée de Pac-Man
+     * @param sound
+     * @param state
+     * @return Renvoie true si PacMan a mangé quelque chose.
+     */
+    public boolean eat(final double x, final double y, final boolean sound,
+            final MazeState state) {
+        final MazeConfig config = state.getConfig();
+        final int cellX = (int) Math.round(x);
+        final int cellY = (int) Math.round(y);
+        final Cell.Content content = config.contentAt(cellX, cellY);
+        if (content == Cell.Content.DOT || content == Cell.Content.ENERGIZER) {
+            if (content == Cell.Content.DOT) {
                 final int dotScore = 10;
                 state.addScore(dotScore);
             } else {
                 final int energizerScore = 50;
                 state.addScore(energizerScore);
-                Music.playLoopingBgMusic("energized");
+                state.getListener().playLoopingBgMusic("energized");
                 setEnergizedTimer(0);
                 if (state.getConfig().isCoop()) {
                     state.getConfig().getPacman().setEnergized(true);
@@ -83,9 +107,9 @@ public final class PacMan extends Critter {
                     energized = true;
                 }
             }
-            c.setContent(Cell.Content.EATEN);
+            config.setContent(cellX, cellY, Cell.Content.EATEN);
             if (sound) {
-                Music.playSound("eat");
+                state.getListener().playSound("eat");
             }
             return true;
         }
@@ -99,48 +123,58 @@ public final class PacMan extends Critter {
      * @param state
      */
     public void updatePosition(final long deltaTns, final MazeState state) {
-        RealCoordinates pos = getPos();
-        RealCoordinates nextPos = nextPos(deltaTns);
-        final int width = state.getConfig().getWidth();
-        final int height = state.getConfig().getHeight();
-        if (pos.equals(nextPos)) {
+        final double x = getX();
+        final double y = getY();
+        final double step = getStep(deltaTns);
+        final double nextX = x + getDirection().getDx() * step;
+        final double nextY = y + getDirection().getDy() * step;
+        if (x == nextX && y == nextY) {
             return;
-        } else if (pos.haveSameNeighbours(nextPos)) {
-            nextPos = pos.adjustNextPos(nextPos).warp(width, height);
+        } else if (RealCoordinates.haveSameNeighbours(x, y, nextX, nextY)) {
+            setNextPos(RealCoordinates.adjustNextPos(x, nextX),
+                RealCoordinates.adjustNextPos(y, nextY));
         } else {
-            nextPos = furthestFreeCell(nextPos, state).warp(width, height);
+            furthestFreeCell(nextX, nextY, state);
         }
-        setPos(nextPos.warp(width, height));
+        setPos(RealCoordinates.warp(getNextX(), state.getConfig().getWidth()),
+            RealCoordinates.warp(getNextY(), state.getConfig().getHeight()));
     }
 
     /**
      * Méthode qui est appelée lorsque PacMan a une très grande vitesse.
      * On doit alors vérifier qu'entre sa position actuelle et sa prochaine position qu'il n'y
-     * ait pas de murs entre ces 2 positions.
-     * @param end
+     * ait pas de murs entre ces 2 positions. <br>
+     * La position de la cellule la plus lointaine qui ne contient pas de mur est mémorisée
+     * dans la prochaine position du {@link Critter} (pas d'allocation).
+     * @param endX Abscisse de la prochaine position
+     * @param endY Ordonnée de la prochaine position
      * @param state
-     * @return {@link RealCoordinates} de la cellule la plus lointaine qui ne contient pas de mur.
      */
-    public RealCoordinates furthestFreeCell(final RealCoordinates end, final MazeState state) {
-        final RealCoordinates pos = getPos();
-        final Direction dir = pos.getDirectionTo(end);
+    public void furthestFreeCell(final double endX, final double endY, final MazeState state) {
+        final double x = getX();
+        final double y = getY();
+        final Direction dir = RealCoordinates.getDirectionTo(x, y, endX, endY);
         final MazeConfig config = state.getConfig();
-        RealCoordinates tmpPos = pos;
+        double tmpX = x;
+        double tmpY = y;
         boolean hasEaten = false;
-        while (dir == tmpPos.getDirectionTo(end)) {
+        while (dir == RealCoordinates.getDirectionTo(tmpX, tmpY, endX, endY)) {
             // Cas où on trouve un mur
-            if (config.getCell(tmpPos.plus(dir.directionToUnit()).toIntCoordinates()).hasWall()) {
+            if (config.isWall((int) Math.round(tmpX + dir.getDx()),
+                (int) Math.round(tmpY + dir.getDy()))) {
                 setDirection(Direction.NONE);
-                return tmpPos.roundFromDirection(Direction.NONE);
+                setNextPos(Math.round(tmpX), Math.round(tmpY));
+                return;
             } else {
-                if (eat(tmpPos, !hasEaten, state) || !hasEaten) {
+                if (eat(tmpX, tmpY, !hasEaten, state) || !hasEaten) {
                     hasEaten = true;
                 }
-                tmpPos = tmpPos.plus(dir.directionToUnit());
+                tmpX += dir.getDx();
+                tmpY += dir.getDy();
             }
         }
         // Cas où aucun mur n'a été trouvé, renvoie nextPos
-        return pos.adjustNextPos(end);
+        setNextPos(RealCoordinates.adjustNextPos(x, endX), RealCoordinates.adjustNextPos(y, endY));
     }
 
     //endregion Position
@@ -231,12 +265,76 @@ public final class PacMan extends Critter {
         PacMan.energizedDuration = energizedDuration;
     }
 
-    public DirectionBuffer getDirectionBuffer() {
-        return directionBuffer;
+    @Override
+    public RealCoordinates getPos() {
+        if (pos == null) {
+            pos = new RealCoordinates(posX, posY);
+        }
+        return pos;
+    }
+
+    @Override
+    public void setPos(final RealCoordinates newPos) {
+        this.posX = newPos.x();
+        this.posY = newPos.y();
+        this.pos = newPos;
+    }
+
+    @Override
+    public void setPos(final double newX, final double newY) {
+        this.posX = newX;
+        this.posY = newY;
+        this.pos = null;
+    }
+
+    @Override
+    public double getX() {
+        return posX;
+    }
+
+    @Override
+    public double getY() {
+        return posY;
     }
 
-    public GraphicsBuffer getGraphicsBuffer() {
-        return graphicsBuffer;
+    @Override
+    protected void setNextPos(final double newX, final double newY) {
+        this.nextPosX = newX;
+        this.nextPosY = newY;
+    }
+
+    @Override
+    protected double getNextX() {
+        return nextPosX;
+    }
+
+    @Override
+    protected double getNextY() {
+        return nextPosY;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setDirection(final Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public double getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public void setSpeed(final double speed) {
+        this.speed = speed;
+    }
+
+    public DirectionBuffer getDirectionBuffer() {
+        return directionBuffer;
     }
 
     /**
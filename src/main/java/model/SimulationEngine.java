@@ -0,0 +1,224 @@
+package model;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Moteur de simulation sans affichage qui fait avancer un {@link MazeState}
+ * avec un pas de temps fixe.
+ * <p>Contrairement à {@link gui.GameView#animate()}, le moteur ne dépend pas du
+ * taux de rafraîchissement de l'écran ni de JavaFX : il peut tourner en temps réel
+ * ou aussi vite que possible (IA, tests de régression...).
+ * <p>Il peut aussi suivre un temps variable (durée de chaque image de l'affichage, cf
+ * {@link #advance(long)}) : les longues durées sont alors découpées en sous-pas bornés.
+ */
+public final class SimulationEngine {
+    /** Nombre de ticks par seconde par défaut. */
+    public static final int DEFAULT_TICK_RATE = 120;
+    private static final long NANOSECONDS = 1_000_000_000L;
+    /** Durée maximale d'un sous-pas par défaut (20 ms : une image à 50 Hz ou plus). */
+    public static final long DEFAULT_MAX_STEP_NS = NANOSECONDS / 50;
+    /** Nombre maximum de sous-pas par image par défaut (rattrape jusqu'à 200 ms). */
+    public static final int DEFAULT_MAX_SUB_STEPS = 10;
+
+    /** Partie simulée. */
+    private final MazeState state;
+    /** Durée simulée d'un tick en nanosecondes. */
+    private final long tickNs;
+    /** Si vrai, le moteur attend entre chaque tick pour suivre le temps réel. */
+    private final boolean realTime;
+    /** Appelé avant chaque tick (ex : une IA qui remplit les buffers de direction). */
+    private Consumer<MazeState> beforeTick = maze -> { };
+    /** Nombre de ticks exécutés depuis la création du moteur. */
+    private long tickCount = 0;
+    /** Temps simulé (en nanosecondes) depuis la création du moteur. */
+    private long simulatedNs = 0;
+
+    /** Durée maximale (en nanosecondes) d'un sous-pas de {@link #advance(long)}. */
+    private long maxStepNs = DEFAULT_MAX_STEP_NS;
+    /** Nombre maximum de sous-pas d'une image : au-delà, le retard est abandonné. */
+    private int maxSubSteps = DEFAULT_MAX_SUB_STEPS;
+    /** Nombre de sous-pas exécutés par le dernier appel à {@link #advance(long)}. */
+    private int lastSubSteps = 0;
+    /** Plus grand nombre de sous-pas exécutés pour une image. */
+    private int peakSubSteps = 0;
+    /** Nombre d'appels à {@link #advance(long)}. */
+    private long frameCount = 0;
+    /** Nombre total de sous-pas exécutés par {@link #advance(long)}. */
+    private long subStepCount = 0;
+    /** Temps (en nanosecondes) abandonné car il dépassait {@link #maxSubSteps} sous-pas. */
+    private long droppedNs = 0;
+
+    /**
+     * Constructeur d'un moteur qui simule aussi vite que possible
+     * à {@link #DEFAULT_TICK_RATE} ticks par seconde simulée.
+     * @param state {@link MazeState} à simuler
+     */
+    public SimulationEngine(final MazeState state) {
+        this(state, DEFAULT_TICK_RATE, false);
+    }
+
+    /**
+     * Constructeur du moteur.
+     * @param state {@link MazeState} à simuler
+     * @param tickRate Nombre de ticks par seconde simulée
+     * @param realTime Vrai pour suivre le temps réel, faux pour aller aussi vite que possible
+     */
+    public SimulationEngine(final MazeState state, final int tickRate, final boolean realTime) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate has to be positive");
+        }
+        this.state = state;
+        this.tickNs = NANOSECONDS / tickRate;
+        this.realTime = realTime;
+    }
+
+    /** Exécute un seul tick de la simulation. */
+    public void tick() {
+        step(tickNs);
+    }
+
+    private void step(final long deltaNs) {
+        beforeTick.accept(state);
+        state.update(deltaNs);
+        tickCount++;
+        simulatedNs += deltaNs;
+    }
+
+    /**
+     * Fait avancer la partie d'une durée variable (ex : le temps écoulé depuis la dernière
+     * image). La durée est découpée en sous-pas égaux d'au plus {@link #getMaxStepNs()},
+     * pour que les personnages ne fassent jamais de trop grands sauts. Après un long
+     * blocage (GC, fenêtre déplacée...), au plus {@link #getMaxSubSteps()} sous-pas sont
+     * exécutés et le reste est abandonné : la partie ralentit au lieu de prendre de plus
+     * en plus de retard.
+     * @param frameNs Durée à simuler en nanosecondes
+     * @return {@code int} nombre de sous-pas exécutés
+     */
+    public int advance(final long frameNs) {
+        frameCount++;
+        lastSubSteps = 0;
+        if (frameNs <= 0) {
+            return 0;
+        }
+        long remaining = frameNs;
+        long steps = (frameNs + maxStepNs - 1) / maxStepNs;
+        if (steps > maxSubSteps) {
+            steps = maxSubSteps;
+            remaining = maxSubSteps * maxStepNs;
+            droppedNs += frameNs - remaining;
+        }
+        for (long left = steps; left > 0; left--) {
+            final long delta = remaining / left;
+            step(delta);
+            remaining -= delta;
+        }
+        lastSubSteps = (int) steps;
+        subStepCount += steps;
+        peakSubSteps = Math.max(peakSubSteps, lastSubSteps);
+        return lastSubSteps;
+    }
+
+    /**
+     * Exécute des ticks jusqu'à la fin de la partie ou jusqu'à {@code maxTicks}.
+     * @param maxTicks Nombre maximum de ticks à exécuter
+     * @return {@code long} nombre de ticks exécutés
+     */
+    public long run(final long maxTicks) {
+        final long start = System.nanoTime();
+        long executed = 0;
+        while (executed < maxTicks && !state.isOver()) {
+            tick();
+            executed++;
+            if (realTime) {
+                final long wait = start + executed * tickNs - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+        return executed;
+    }
+
+    public MazeState getState() {
+        return state;
+    }
+
+    public long getTickNs() {
+        return tickNs;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Renvoie le temps simulé depuis la création du moteur.
+     * @return {@code double} en secondes
+     */
+    public double getSimulatedTime() {
+        return (double) simulatedNs / NANOSECONDS;
+    }
+
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    public void setBeforeTick(final Consumer<MazeState> beforeTick) {
+        this.beforeTick = beforeTick;
+    }
+
+    public long getMaxStepNs() {
+        return maxStepNs;
+    }
+
+    /**
+     * Change la durée maximale d'un sous-pas de {@link #advance(long)}.
+     * @param maxStepNs Durée en nanosecondes (strictement positive)
+     */
+    public void setMaxStepNs(final long maxStepNs) {
+        if (maxStepNs <= 0) {
+            throw new IllegalArgumentException("Max step has to be positive");
+        }
+        this.maxStepNs = maxStepNs;
+    }
+
+    public int getMaxSubSteps() {
+        return maxSubSteps;
+    }
+
+    /**
+     * Change le nombre maximum de sous-pas exécutés par {@link #advance(long)}.
+     * @param maxSubSteps Nombre de sous-pas (strictement positif)
+     */
+    public void setMaxSubSteps(final int maxSubSteps) {
+        if (maxSubSteps <= 0) {
+            throw new IllegalArgumentException("Max sub-steps has to be positive");
+        }
+        this.maxSubSteps = maxSubSteps;
+    }
+
+    public int getLastSubSteps() {
+        return lastSubSteps;
+    }
+
+    public int getPeakSubSteps() {
+        return peakSubSteps;
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public long getDroppedNs() {
+        return droppedNs;
+    }
+
+    /**
+     * Renvoie le nombre moyen de sous-pas par image depuis la création du moteur.
+     * @return {@code double}
+     */
+    public double getAverageSubSteps() {
+        return frameCount == 0 ? 0 : (double) subStepCount / frameCount;
+    }
+}
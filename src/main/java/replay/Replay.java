@@ -0,0 +1,429 @@
+package replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import config.Cell;
+import config.MazeConfig;
+import model.Critter;
+import model.Direction;
+import model.Ghost;
+import model.Ghost.TargetingMode;
+import model.MazeState;
+
+/**
+ * Partie enregistrée : tout ce qu'il faut pour la rejouer à l'identique
+ * (cf {@link ReplayPlayer}).
+ * <p>Une partie est entièrement déterminée par sa carte (son nom, et la carte elle-même
+ * en Endless), le nombre de fantômes, le mode de
+ * ciblage, la graine des {@link model.GhostTable}, la durée de chaque image passée à
+ * {@link model.SimulationEngine#advance(long)} et les touches appuyées avant chaque image.
+ * <p>Format binaire (entiers en varint, durées des images en écart au précédent) :
+ * <pre>
+ * "PMRP" version drapeaux nom [largeur hauteur cellules] fantômes ciblage joueur graine
+ * pas-max sous-pas-max nombre-d'images { nombre-de-touches touches... durée }* empreinte
+ * </pre>
+ * <p>Le nom de la carte est écrit avec {@link DataOutputStream#writeUTF} ; une partie dont
+ * la carte n'existe pas est refusée à la lecture.
+ */
+public final class Replay {
+    /** Premiers octets d'un fichier de partie enregistrée ("PMRP"). */
+    private static final int MAGIC = 0x504D5250;
+    private static final int VERSION = 2;
+    private static final int COOP = 1;
+    private static final int ENDLESS = 2;
+    /** Bit du second joueur dans le code d'une touche. */
+    private static final int PLAYER_TWO_BIT = 0x80;
+    private static final int DIRECTION_MASK = 0x7F;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final TargetingMode[] TARGETING_MODES = TargetingMode.values();
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+    private static final long HASH_PRIME = 0x100000001B3L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean coop;
+    /** Nom de la carte (cf {@link MazeConfig#getMapName()}). */
+    private final String mapName;
+    /** Carte générée en Endless, {@code null} pour une carte lue dans un fichier. */
+    private final Cell[][] map;
+    private final int[] ghostMix;
+    private final TargetingMode targeting;
+    /** Indice du fantôme contrôlé par le second joueur (Versus), -1 sinon. */
+    private final int playerGhost;
+    private final long seed;
+    /** Durée maximale d'un sous-pas du moteur (cf {@link #setEngineLimits}). */
+    private long maxStepNs = 0;
+    /** Nombre maximum de sous-pas du moteur par image. */
+    private int maxSubSteps = 0;
+
+    private long[] frames = new long[INITIAL_CAPACITY];
+    private int frameCount = 0;
+    /** Image avant laquelle chaque touche a été appuyée. */
+    private int[] inputFrames = new int[INITIAL_CAPACITY];
+    private byte[] inputCodes = new byte[INITIAL_CAPACITY];
+    private int inputCount = 0;
+    /** Empreinte de la partie à la fin de l'enregistrement (cf {@link #hash(MazeState)}). */
+    private long finalHash = 0;
+
+    /**
+     * Constructeur d'une partie sans image.
+     * @param coop Mode Coop
+     * @param mapName Nom de la carte
+     * @param map Carte générée, {@code null} pour une carte lue dans un fichier
+     * @param ghostMix Nombre de fantômes de chaque type
+     * @param targeting Mode de ciblage des fantômes
+     * @param playerGhost Indice du fantôme du second joueur, -1 si aucun
+     * @param seed Graine des fantômes
+     */
+    Replay(final boolean coop, final String mapName, final Cell[][] map, final int[] ghostMix,
+    final TargetingMode targeting, final int playerGhost, final long seed) {
+        this.coop = coop;
+        this.mapName = mapName;
+        this.map = map;
+        this.ghostMix = ghostMix.clone();
+        this.targeting = targeting;
+        this.playerGhost = playerGhost;
+        this.seed = seed;
+    }
+
+    /**
+     * Note les réglages du moteur, qui changent la durée des sous-pas.
+     * @param stepNs Durée maximale d'un sous-pas
+     * @param subSteps Nombre maximum de sous-pas par image
+     */
+    void setEngineLimits(final long stepNs, final int subSteps) {
+        this.maxStepNs = stepNs;
+        this.maxSubSteps = subSteps;
+    }
+
+    /**
+     * Ajoute une touche, appliquée avant la prochaine image.
+     * @param playerTwo {@code true} pour le second joueur
+     * @param direction Direction demandée, {@code null} pour une autre touche
+     */
+    void addInput(final boolean playerTwo, final Direction direction) {
+        if (inputCount == inputCodes.length) {
+            inputFrames = Arrays.copyOf(inputFrames, inputCount * 2);
+            inputCodes = Arrays.copyOf(inputCodes, inputCount * 2);
+        }
+        final int code = direction == null ? 0 : direction.ordinal() + 1;
+        inputFrames[inputCount] = frameCount;
+        inputCodes[inputCount++] = (byte) (playerTwo ? code | PLAYER_TWO_BIT : code);
+    }
+
+    /**
+     * Ajoute une image.
+     * @param frameNs Durée passée à {@link model.SimulationEngine#advance(long)}
+     */
+    void addFrame(final long frameNs) {
+        if (frameCount == frames.length) {
+            frames = Arrays.copyOf(frames, frameCount * 2);
+        }
+        frames[frameCount++] = frameNs;
+    }
+
+    void setFinalHash(final long finalHash) {
+        this.finalHash = finalHash;
+    }
+
+    /**
+     * Renvoie l'empreinte d'une partie : score, vies, pac-gommes mangées, puis position
+     * (bit à bit), direction et état de chaque critter.
+     * @param state Partie
+     * @return {@code long}
+     */
+    public static long hash(final MazeState state) {
+        long hash = mix(0, state.getScore());
+        hash = mix(hash, state.getLives());
+        hash = mix(hash, state.getEatenPacgomme());
+        for (Critter critter : state.getConfig().getCritters()) {
+            hash = mix(hash, Double.doubleToLongBits(critter.getX()));
+            hash = mix(hash, Double.doubleToLongBits(critter.getY()));
+            hash = mix(hash, critter.getDirection().ordinal());
+            if (critter instanceof Ghost) {
+                hash = mix(hash, ((Ghost) critter).getGhostState().ordinal());
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(final long hash, final long value) {
+        return (hash ^ value) * HASH_PRIME;
+    }
+
+    /**
+     * Ecrit la partie dans un fichier.
+     * @param file Fichier de destination
+     * @throws IOException si le fichier ne peut pas être écrit
+     */
+    public void write(final Path file) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            write(stream);
+        }
+    }
+
+    /**
+     * Ecrit la partie au format binaire.
+     * @param stream Flux de destination (non fermé)
+     * @throws IOException si le flux ne peut pas être écrit
+     */
+    public void write(final OutputStream stream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte((coop ? COOP : 0) | (map != null ? ENDLESS : 0));
+        out.writeUTF(mapName);
+        if (map != null) {
+            writeVarLong(out, map[0].length);
+            writeVarLong(out, map.length);
+            for (Cell[] row : map) {
+                for (Cell cell : row) {
+                    out.writeByte(cell.pack());
+                }
+            }
+        }
+        writeVarLong(out, ghostMix.length);
+        for (int count : ghostMix) {
+            writeVarLong(out, count);
+        }
+        out.writeByte(targeting.ordinal());
+        writeVarLong(out, playerGhost + 1);
+        out.writeLong(seed);
+        writeVarLong(out, maxStepNs);
+        writeVarLong(out, maxSubSteps);
+
+        writeVarLong(out, frameCount);
+        int input = 0;
+        long previous = 0;
+        for (int frame = 0; frame < frameCount; frame++) {
+            int count = 0;
+            while (input + count < inputCount && inputFrames[input + count] == frame) {
+                count++;
+            }
+            writeVarLong(out, count);
+            for (int i = 0; i < count; i++) {
+                out.writeByte(inputCodes[input++]);
+            }
+            final long delta = frames[frame] - previous;
+            writeVarLong(out, (delta << 1) ^ (delta >> (Long.SIZE - 1)));
+            previous = frames[frame];
+        }
+        out.writeLong(finalHash);
+        out.flush();
+    }
+
+    /**
+     * Lit une partie enregistrée dans un fichier.
+     * @param file Fichier à lire
+     * @return {@link Replay}
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas une partie
+     */
+    public static Replay read(final Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return read(stream);
+        }
+    }
+
+    /**
+     * Lit une partie au format binaire.
+     * @param stream Flux à lire (non fermé)
+     * @return {@link Replay}
+     * @throws IOException si le flux ne peut pas être lu, n'est pas une partie ou si sa
+     * carte n'existe pas
+     */
+    public static Replay read(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+            throw new IOException("Not a replay file");
+        }
+        final int flags = in.readUnsignedByte();
+        final String mapName = in.readUTF();
+        if (!MazeConfig.hasMaze(mapName)) {
+            throw new IOException("Unknown map: " + mapName);
+        }
+        Cell[][] map = null;
+        if ((flags & ENDLESS) != 0) {
+            final int width = (int) readVarLong(in);
+            final int height = (int) readVarLong(in);
+            map = new Cell[height][width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    map[y][x] = Cell.unpack(in.readUnsignedByte());
+                }
+            }
+        }
+        final int[] ghostMix = new int[(int) readVarLong(in)];
+        for (int i = 0; i < ghostMix.length; i++) {
+            ghostMix[i] = (int) readVarLong(in);
+        }
+        final TargetingMode targeting = TARGETING_MODES[in.readUnsignedByte()];
+        final int playerGhost = (int) readVarLong(in) - 1;
+        final long seed = in.readLong();
+        final long maxStepNs = readVarLong(in);
+        final int maxSubSteps = (int) readVarLong(in);
+        final Replay replay = new Replay((flags & COOP) != 0, mapName, map, ghostMix,
+            targeting, playerGhost, seed);
+        replay.setEngineLimits(maxStepNs, maxSubSteps);
+
+        final int frameCount = (int) readVarLong(in);
+        long previous = 0;
+        for (int frame = 0; frame < frameCount; frame++) {
+            final int count = (int) readVarLong(in);
+            for (int i = 0; i < count; i++) {
+                final int code = in.readUnsignedByte();
+                final int direction = code & DIRECTION_MASK;
+                replay.addInput((code & PLAYER_TWO_BIT) != 0,
+                    direction == 0 ? null : DIRECTIONS[direction - 1]);
+            }
+            final long zigzag = readVarLong(in);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            replay.addFrame(previous);
+        }
+        replay.setFinalHash(in.readLong());
+        return replay;
+    }
+
+    private static void writeVarLong(final DataOutputStream out, final long value)
+    throws IOException {
+        long rest = value;
+        while ((rest & ~VARINT_MASK) != 0) {
+            out.writeByte((int) (rest & VARINT_MASK) | VARINT_MORE);
+            rest >>>= VARINT_BITS;
+        }
+        out.writeByte((int) rest);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINT_BITS) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public boolean isCoop() {
+        return coop;
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * Renvoie une copie de la carte générée.
+     * @return {@code Cell[][]}, {@code null} pour une carte lue dans un fichier
+     */
+    public Cell[][] getMap() {
+        return copy(map);
+    }
+
+    /**
+     * Copie une carte cellule par cellule.
+     * @param grid Carte à copier
+     * @return {@code Cell[][]}, {@code null} si {@code grid} est {@code null}
+     */
+    static Cell[][] copy(final Cell[][] grid) {
+        if (grid == null) {
+            return null;
+        }
+        final Cell[][] copy = new Cell[grid.length][];
+        for (int y = 0; y < grid.length; y++) {
+            copy[y] = new Cell[grid[y].length];
+            for (int x = 0; x < grid[y].length; x++) {
+                copy[y][x] = new Cell(grid[y][x]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Renvoie le nombre de fantômes de chaque type.
+     * @return {@code int[]}
+     */
+    public int[] getGhostMix() {
+        return ghostMix.clone();
+    }
+
+    public TargetingMode getTargeting() {
+        return targeting;
+    }
+
+    public int getPlayerGhost() {
+        return playerGhost;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getMaxStepNs() {
+        return maxStepNs;
+    }
+
+    public int getMaxSubSteps() {
+        return maxSubSteps;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Renvoie la durée d'une image.
+     * @param frame Indice de l'image
+     * @return {@code long} en nanosecondes
+     */
+    public long getFrame(final int frame) {
+        return frames[frame];
+    }
+
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * Renvoie l'image avant laquelle une touche a été appuyée.
+     * @param input Indice de la touche
+     * @return {@code int}
+     */
+    public int getInputFrame(final int input) {
+        return inputFrames[input];
+    }
+
+    /**
+     * Indique si une touche vient du second joueur.
+     * @param input Indice de la touche
+     * @return {@code boolean}
+     */
+    public boolean isPlayerTwoInput(final int input) {
+        return (inputCodes[input] & PLAYER_TWO_BIT) != 0;
+    }
+
+    /**
+     * Renvoie la direction demandée par une touche.
+     * @param input Indice de la touche
+     * @return {@link Direction}, {@code null} si la touche n'est pas une direction
+     */
+    public Direction getInputDirection(final int input) {
+        final int direction = inputCodes[input] & DIRECTION_MASK;
+        return direction == 0 ? null : DIRECTIONS[direction - 1];
+    }
+
+    public long getFinalHash() {
+        return finalHash;
+    }
+}
@@ -0,0 +1,110 @@
+package replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import config.MazeConfig;
+import model.DirectionBuffer;
+import model.MazeState;
+import model.SimulationEngine;
+
+/**
+ * Rejoue une partie enregistrée sans affichage, aussi vite que possible : les images et
+ * les touches sont rejouées dans le même ordre, ce qui redonne la même partie bit à bit.
+ */
+public final class ReplayPlayer {
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private ReplayPlayer() {
+    }
+
+    /**
+     * Crée la partie décrite par l'en-tête de {@code replay}, avant la première image.
+     * @param replay Partie enregistrée
+     * @return {@link SimulationEngine}
+     */
+    public static SimulationEngine prepare(final Replay replay) {
+        final MazeConfig config;
+        if (replay.getMap() != null) {
+            config = MazeConfig.endlessConfig(replay.isCoop(), replay.getMap(),
+                replay.getGhostMix());
+        } else {
+            config = new MazeConfig(replay.isCoop(), replay.getMapName(), false, 0, 0, false,
+                replay.getGhostMix());
+        }
+        config.setTargetingMode(replay.getTargeting());
+        config.getGhostTable().setSeed(replay.getSeed());
+        if (replay.getPlayerGhost() >= 0) {
+            config.getGhostTable().get(replay.getPlayerGhost())
+                .setDirectionBuffer(new DirectionBuffer());
+        }
+        final SimulationEngine engine = new SimulationEngine(new MazeState(config));
+        engine.setMaxStepNs(replay.getMaxStepNs());
+        engine.setMaxSubSteps(replay.getMaxSubSteps());
+        return engine;
+    }
+
+    /**
+     * Rejoue toute la partie.
+     * @param replay Partie enregistrée
+     * @return {@link MazeState} à la fin de la partie
+     */
+    public static MazeState play(final Replay replay) {
+        final SimulationEngine engine = prepare(replay);
+        final MazeState state = engine.getState();
+        int input = 0;
+        for (int frame = 0; frame < replay.getFrameCount(); frame++) {
+            while (input < replay.getInputCount() && replay.getInputFrame(input) == frame) {
+                apply(state, replay, input++);
+            }
+            engine.advance(replay.getFrame(frame));
+        }
+        return state;
+    }
+
+    /**
+     * Applique une touche comme les contrôleurs du jeu
+     * ({@link gui.controller.PacmanController}...).
+     * @param state Partie rejouée
+     * @param replay Partie enregistrée
+     * @param input Indice de la touche
+     */
+    private static void apply(final MazeState state, final Replay replay, final int input) {
+        final MazeConfig config = state.getConfig();
+        final DirectionBuffer buffer;
+        if (!replay.isPlayerTwoInput(input)) {
+            buffer = config.getPacman().getDirectionBuffer();
+        } else if (config.isCoop()) {
+            buffer = config.getPacman2().getDirectionBuffer();
+        } else {
+            buffer = config.getGhostTable().get(replay.getPlayerGhost()).getDirectionBuffer();
+        }
+        if (replay.getInputDirection(input) != null) {
+            buffer.setBufferDirection(replay.getInputDirection(input));
+        }
+        buffer.setDirectionBufferTimer(0);
+    }
+
+    /**
+     * Rejoue les parties données en argument et indique si elles finissent comme
+     * lors de l'enregistrement.
+     * @param args Fichiers des parties enregistrées
+     * @throws IOException si un fichier ne peut pas être lu
+     */
+    public static void main(final String[] args) throws IOException {
+        for (String file : args) {
+            final Replay replay = Replay.read(Path.of(file));
+            final long start = System.nanoTime();
+            final MazeState state = play(replay);
+            final long elapsed = System.nanoTime() - start;
+            long recorded = 0;
+            for (int frame = 0; frame < replay.getFrameCount(); frame++) {
+                recorded += replay.getFrame(frame);
+            }
+            final boolean same = Replay.hash(state) == replay.getFinalHash();
+            System.out.printf("%s : %d images, score %d, %.1f ms (x%.0f) %s%n", file,
+                replay.getFrameCount(), state.getScore(), elapsed / NANOS_PER_MILLI,
+                (double) recorded / elapsed, same ? "identique" : "DIFFERENTE");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package replay;
+
+import config.MazeConfig;
+import model.Direction;
+import model.GhostTable;
+import model.SimulationEngine;
+
+/**
+ * Enregistre une partie pendant qu'elle est jouée : les images passent par
+ * {@link #advance(long)} au lieu de {@link SimulationEngine#advance(long)} et les touches
+ * des joueurs par {@link #input(boolean, Direction)}.
+ * <p>Le recorder donne une graine aux fantômes : il doit être créé avant le premier tick.
+ */
+public final class ReplayRecorder {
+    /** Propriété système contenant le fichier où écrire la dernière partie jouée. */
+    public static final String FILE_PROPERTY = "pacman.replay";
+
+    private final SimulationEngine engine;
+    private final Replay replay;
+
+    /**
+     * Constructeur qui garde la graine des fantômes de la partie
+     * (cf {@link utils.RandomSource#getGhostSeed()}).
+     * @param engine Moteur de la partie enregistrée
+     */
+    public ReplayRecorder(final SimulationEngine engine) {
+        this(engine, engine.getState().getConfig().getRandom().getGhostSeed());
+    }
+
+    /**
+     * Constructeur qui donne la graine {@code seed} aux fantômes.
+     * @param engine Moteur de la partie enregistrée
+     * @param seed Graine des fantômes
+     */
+    public ReplayRecorder(final SimulationEngine engine, final long seed) {
+        this.engine = engine;
+        final MazeConfig config = engine.getState().getConfig();
+        final GhostTable ghosts = config.getGhostTable();
+        ghosts.setSeed(seed);
+        int playerGhost = -1;
+        for (int i = 0; i < ghosts.size(); i++) {
+            if (ghosts.get(i).isPlayer()) {
+                playerGhost = i;
+                break;
+            }
+        }
+        this.replay = new Replay(config.isCoop(), config.getMapName(),
+            config.isEndless() ? Replay.copy(MazeConfig.getEndlessMap()) : null,
+            config.getGhostCounts(), config.getTargetingMode(), playerGhost, seed);
+        replay.setEngineLimits(engine.getMaxStepNs(), engine.getMaxSubSteps());
+    }
+
+    /**
+     * Enregistre une touche appuyée, qui sera prise en compte à la prochaine image.
+     * @param playerTwo {@code true} pour le second joueur (Pac-Man 2 ou fantôme)
+     * @param direction Direction demandée, {@code null} pour une autre touche
+     */
+    public void input(final boolean playerTwo, final Direction direction) {
+        replay.addInput(playerTwo, direction);
+    }
+
+    /**
+     * Enregistre une image et fait avancer la partie (cf {@link SimulationEngine#advance}).
+     * @param frameNs Durée de l'image en nanosecondes
+     * @return {@code int} nombre de sous-pas exécutés
+     */
+    public int advance(final long frameNs) {
+        replay.addFrame(frameNs);
+        return engine.advance(frameNs);
+    }
+
+    /**
+     * Termine l'enregistrement en notant l'empreinte de la partie.
+     * @return {@link Replay}
+     */
+    public Replay finish() {
+        replay.setFinalHash(Replay.hash(engine.getState()));
+        return replay;
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Enregistrement et relecture des parties :<br><br>
+ * - {@link replay.ReplayRecorder} note tout ce qui fait avancer une partie<br><br>
+ * - {@link replay.ReplayPlayer} la rejoue sans affichage, à l'identique.
+ */
+package replay;
@@ -0,0 +1,109 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme de durées (en nanosecondes) à précision relative constante, dans l'esprit
+ * d'HdrHistogram : chaque puissance de 2 est découpée en {@code 2^(PRECISION_BITS - 1)}
+ * intervalles égaux, soit une erreur inférieure à 1,6 % sur les percentiles.
+ * <p>Enregistrer une valeur ne fait qu'incrémenter une case d'un tableau (aucune
+ * allocation), ce qui permet de l'appeler à chaque image.
+ */
+public final class FrameHistogram {
+    /** Nombre de bits significatifs gardés pour chaque valeur. */
+    private static final int PRECISION_BITS = 7;
+    /** Nombre de cases des valeurs enregistrées exactement ({@code 0} à {@code 127}). */
+    private static final int LINEAR = 1 << PRECISION_BITS;
+    /** Nombre de cases par puissance de 2 au-delà de {@link #LINEAR}. */
+    private static final int HALF = LINEAR / 2;
+    /** Plus grande puissance de 2 distinguée (environ 18 minutes). */
+    private static final int MAX_MAGNITUDE = 40;
+    /** Valeur maximale enregistrée, les valeurs plus grandes sont ramenées à celle-ci. */
+    private static final long HIGHEST = (1L << MAX_MAGNITUDE) - 1;
+    private static final double PERCENT = 100.0;
+
+    private final long[] counts = new long[index(HIGHEST) + 1];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Ajoute une durée à l'histogramme.
+     * @param value Durée en nanosecondes (les valeurs négatives comptent pour 0)
+     */
+    public void record(final long value) {
+        final long clamped = Math.min(Math.max(value, 0), HIGHEST);
+        counts[index(clamped)]++;
+        count++;
+        sum += clamped;
+        max = Math.max(max, clamped);
+    }
+
+    /** Oublie toutes les durées enregistrées. */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Renvoie la durée moyenne.
+     * @return {@code double} en nanosecondes, {@code 0} si l'histogramme est vide
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Renvoie la durée en dessous de laquelle se trouvent {@code percentile} % des durées
+     * (borne haute de l'intervalle qui la contient, sans dépasser le maximum).
+     * @param percentile Percentile, entre 0 et 100
+     * @return {@code long} en nanosecondes, {@code 0} si l'histogramme est vide
+     */
+    public long getPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestInBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Indice de la case d'une valeur : les petites valeurs ont chacune leur case, les
+     * suivantes sont regroupées par intervalles de largeur {@code 2^shift}.
+     * @param value Valeur entre {@code 0} et {@link #HIGHEST}
+     * @return {@code int}
+     */
+    private static int index(final long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - PRECISION_BITS;
+        return LINEAR + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    private static long highestInBucket(final int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        final int shift = (index - LINEAR) / HALF + 1;
+        final long sub = (index - LINEAR) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,151 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.json.JSONObject;
+
+/**
+ * Mesures du temps passé à chaque image, une {@link FrameHistogram} par {@link Phase}.
+ * <p>Les percentiles peuvent être affichés en jeu ({@link #summary()}) et écrits en CSV
+ * ou en JSON à la fermeture du jeu si la propriété système {@value #DUMP_PROPERTY}
+ * donne le fichier de destination (JSON si son nom finit par {@code .json}).
+ */
+public final class FrameMetrics {
+    /** Propriété système contenant le fichier où écrire les mesures à la fermeture. */
+    public static final String DUMP_PROPERTY = "pacman.metrics";
+    /** Percentiles écrits dans les fichiers et affichés. */
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private static final double MEDIAN = 50;
+    private static final double TAIL = 99;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /** Partie d'une image mesurée. */
+    public enum Phase {
+        /** Avancée de la simulation ({@code SimulationEngine#advance}). */
+        SIMULATION,
+        /** Mise à jour de l'interface et dessin de la carte et des critters. */
+        RENDER,
+        /** Durée totale de traitement d'une image. */
+        FRAME,
+        /** Temps écoulé entre deux images. */
+        INTERVAL,
+        /** Durée entre un redimensionnement de la fenêtre et l'image suivante. */
+        RESIZE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final FrameHistogram[] histograms = new FrameHistogram[PHASES.length];
+
+    /** Constructeur qui crée un histogramme vide par {@link Phase}. */
+    public FrameMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new FrameHistogram();
+        }
+    }
+
+    /**
+     * Enregistre la durée d'une partie de l'image.
+     * @param phase Partie mesurée
+     * @param nanos Durée en nanosecondes
+     */
+    public void record(final Phase phase, final long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Renvoie l'histogramme d'une partie de l'image.
+     * @param phase Partie mesurée
+     * @return {@link FrameHistogram}
+     */
+    public FrameHistogram get(final Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /** Oublie toutes les mesures. */
+    public void reset() {
+        for (FrameHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Renvoie une ligne par {@link Phase} mesurée : p50, p99 et max en millisecondes.
+     * @return {@code String}
+     */
+    public String summary() {
+        final StringBuilder builder = new StringBuilder();
+        for (Phase phase : PHASES) {
+            final FrameHistogram histogram = get(phase);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            builder.append(String.format(Locale.ROOT, "%-10s p50 %6.2f  p99 %6.2f  max %6.2f ms%n",
+                phase, histogram.getPercentile(MEDIAN) / NANOS_PER_MILLI,
+                histogram.getPercentile(TAIL) / NANOS_PER_MILLI,
+                histogram.getMax() / NANOS_PER_MILLI));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Renvoie les mesures au format CSV : une ligne par {@link Phase}, durées en ns.
+     * @return {@code String}
+     */
+    public String toCsv() {
+        final StringBuilder builder = new StringBuilder("phase,count,mean");
+        for (double percentile : PERCENTILES) {
+            builder.append(",p").append((int) percentile);
+        }
+        builder.append(",max\n");
+        for (Phase phase : PHASES) {
+            final FrameHistogram histogram = get(phase);
+            builder.append(phase.name().toLowerCase(Locale.ROOT)).append(',')
+                .append(histogram.getCount()).append(',')
+                .append(Math.round(histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                builder.append(',').append(histogram.getPercentile(percentile));
+            }
+            builder.append(',').append(histogram.getMax()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Renvoie les mesures au format JSON : un objet par {@link Phase}, durées en ns.
+     * @return {@code JSONObject}
+     */
+    public JSONObject toJson() {
+        final JSONObject json = new JSONObject();
+        for (Phase phase : PHASES) {
+            final FrameHistogram histogram = get(phase);
+            final JSONObject entry = new JSONObject();
+            entry.put("count", histogram.getCount());
+            entry.put("mean", Math.round(histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                entry.put("p" + (int) percentile, histogram.getPercentile(percentile));
+            }
+            entry.put("max", histogram.getMax());
+            json.put(phase.name().toLowerCase(Locale.ROOT), entry);
+        }
+        return json;
+    }
+
+    /**
+     * Ecrit les mesures dans le fichier donné par la propriété {@value #DUMP_PROPERTY},
+     * si elle est définie.
+     * @throws IOException si le fichier ne peut pas être écrit
+     */
+    public void dump() throws IOException {
+        final String file = System.getProperty(DUMP_PROPERTY);
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        final String content = file.endsWith(".json") ? toJson().toString(2) : toCsv();
+        Files.writeString(Path.of(file), content, StandardCharsets.UTF_8);
+    }
+}
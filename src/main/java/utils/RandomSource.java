@@ -0,0 +1,59 @@
+package utils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source d'aléatoire d'une partie, donnée à {@link config.MazeConfig} : une seule graine
+ * détermine la carte générée et les directions aléatoires des fantômes.
+ * <p>La génération de la carte et les fantômes ont chacun leur générateur, issu de la
+ * graine par {@link SplittableRandom#split()} : aucune partie ne partage de générateur
+ * avec une autre, et deux parties avec la même graine sont identiques.
+ */
+public final class RandomSource {
+    private final long seed;
+    /** Générateur de la carte (cf {@link config.mazeGen.MainGrid#createRandomMap}). */
+    private final SplittableRandom maze;
+    /** Graine de la {@link model.GhostTable} (cf {@link model.GhostTable#setSeed(long)}). */
+    private final long ghostSeed;
+
+    private RandomSource(final long seed) {
+        this.seed = seed;
+        final SplittableRandom root = new SplittableRandom(seed);
+        this.maze = root.split();
+        this.ghostSeed = root.nextLong();
+    }
+
+    /**
+     * Crée une source à partir d'une graine, pour rejouer ou mesurer une partie.
+     * @param seed Graine
+     * @return {@link RandomSource}
+     */
+    public static RandomSource seeded(final long seed) {
+        return new RandomSource(seed);
+    }
+
+    /**
+     * Crée une source avec une graine tirée au hasard (cf {@link #getSeed()}).
+     * @return {@link RandomSource}
+     */
+    public static RandomSource create() {
+        return new RandomSource(new SplittableRandom().nextLong());
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Renvoie le générateur utilisé pour générer la carte de la partie.
+     * @return {@code RandomGenerator}
+     */
+    public RandomGenerator getMazeRandom() {
+        return maze;
+    }
+
+    public long getGhostSeed() {
+        return ghostSeed;
+    }
+}
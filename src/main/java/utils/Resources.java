@@ -16,18 +16,29 @@ import org.apache.commons.io.FilenameUtils;
 
 import javafx.scene.image.Image;
 import javafx.scene.media.Media;
+import javafx.scene.text.Font;
 
 public final class Resources {
     /** {@code Map}contenant les paths aux fonts. */
     private static Map<String, String> ttf = new HashMap<>();
-    /** {@code Map}contenant les objets{@code Media}. */
-    private static Map<String, Media> mp4 = new HashMap<>();
+    /** {@code Map}contenant les paths aux vidéos. */
+    private static Map<String, String> mp4 = new HashMap<>();
+    /** {@code Map}contenant les objets{@code Media}déjà chargés. */
+    private static Map<String, Media> medias = new HashMap<>();
     /** {@code Map}contenant les paths aux wav. */
     private static Map<String, String> wav = new HashMap<>();
-    /** {@code Map}contenant les objets{@code Image}. */
-    private static Map<String, Image> png = new HashMap<>();
-    /** {@code Map}contenant les paths aux maps. */
+    /** {@code Map}contenant les paths aux images. */
+    private static Map<String, String> png = new HashMap<>();
+    /** {@code Map}contenant les objets{@code Image}déjà chargés. */
+    private static Map<String, Image> images = new HashMap<>();
+    /** {@code Map}contenant les objets{@code Font}déjà chargés, par nom et taille. */
+    private static Map<String, Font> fonts = new HashMap<>();
+    /** {@code Map}contenant les paths aux maps, lues à la demande. */
     private static Map<String, String> json = new HashMap<>();
+    /** {@code Map}contenant les paths aux maps binaires (cf {@link config.BinaryMaze}). */
+    private static Map<String, String> maze = new HashMap<>();
+    /** {@code List}des paths aux bibliothèques de maps (cf {@link config.MazeLibrary}). */
+    private static List<String> mazelib = new ArrayList<>();
     /** {@code List}contenant toutes les{@code Map}. */
     private static List<Map<String, String>> all = new ArrayList<>();
 
@@ -37,7 +48,6 @@ public final class Resources {
     static {
         all.add(ttf);
         all.add(wav);
-        all.add(json);
         try {
             URI fontsFolder = Resources.class.getClassLoader().getResource("fonts").toURI();
             Map<String, String> env;
@@ -97,7 +107,7 @@ public final class Resources {
                     FilenameUtils.removeExtension(
                         file.getFileName().toString()
                     ),
-                    new Media(file.toUri().toString())
+                    file.toUri().toString()
                 );
                 break;
             case "png":
@@ -105,7 +115,7 @@ public final class Resources {
                     FilenameUtils.removeExtension(
                         file.getFileName().toString()
                     ),
-                    new Image(file.toUri().toString())
+                    file.toUri().toString()
                 );
                 break;
             case "wav":
@@ -117,16 +127,23 @@ public final class Resources {
                 );
                 break;
             case "json":
-                try {
-                    json.put(
-                        FilenameUtils.removeExtension(
-                            file.getFileName().toString()
-                        ),
-                        readFileToString(file)
-                    );
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                json.put(
+                    FilenameUtils.removeExtension(
+                        file.getFileName().toString()
+                    ),
+                    file.toUri().toString()
+                );
+                break;
+            case "maze":
+                maze.put(
+                    FilenameUtils.removeExtension(
+                        file.getFileName().toString()
+                    ),
+                    file.toUri().toString()
+                );
+                break;
+            case "mazelib":
+                mazelib.add(file.toUri().toString());
                 break;
 
             default:
@@ -145,9 +162,51 @@ public final class Resources {
                 return map.get(name);
             }
         }
+        if (json.containsKey(name)) {
+            try {
+                return readFileToString(Path.of(URI.create(json.get(name))));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
         return "";
     }
 
+    /**
+     * Indique si une map de ce nom existe, en JSON ou en binaire (les bibliothèques de
+     * maps sont vérifiées par {@link config.MazeLibrary#find}).
+     * @param name Nom de la map
+     * @return {@code boolean}
+     */
+    public static boolean hasMaze(final String name) {
+        return json.containsKey(name) || maze.containsKey(name);
+    }
+
+    /**
+     * Retourne le fichier de la map binaire correspondant au nom.
+     * @param name Nom de la map
+     * @return {@code Path}, {@code null} si la map n'a pas de version binaire
+     */
+    public static Path getMazeFile(final String name) {
+        if (!maze.containsKey(name)) {
+            return null;
+        }
+        return Path.of(URI.create(maze.get(name)));
+    }
+
+    /**
+     * Retourne les fichiers des bibliothèques de maps, triés par nom.
+     * @return {@code List<Path>}
+     */
+    public static List<Path> getMazeLibraryFiles() {
+        final List<Path> files = new ArrayList<>();
+        for (String uri : mazelib) {
+            files.add(Path.of(URI.create(uri)));
+        }
+        files.sort(null);
+        return files;
+    }
+
     /**
      * Retourne le contenu en{@code String}d'un fichier.
      * @param file {@code Path}
@@ -164,19 +223,51 @@ public final class Resources {
 
     /**
      * Retourne l'objet{@code Image}correspondant au nom.
+     * L'image n'est chargée qu'au premier appel : le modèle peut ainsi
+     * utiliser{@code Resources}sans initialiser JavaFX.
      * @param name Nom de l'image
      * @return {@code Image}
      */
     public static Image getImage(final String name) {
-        return png.get(name);
+        if (!png.containsKey(name)) {
+            return null;
+        }
+        return images.computeIfAbsent(name, key -> new Image(png.get(key)));
+    }
+
+    /**
+     * Retourne le path de l'image correspondant au nom, pour la charger à une autre taille
+     * que celle du fichier (cf {@link #getImage(String)}).
+     * @param name Nom de l'image
+     * @return {@code String}path, vide si l'image n'existe pas
+     */
+    public static String getImagePath(final String name) {
+        return png.getOrDefault(name, "");
+    }
+
+    /**
+     * Retourne la police correspondant au nom, à la taille donnée.
+     * Chaque taille n'est chargée qu'au premier appel.
+     * @param name Nom de la police
+     * @param size Taille de la police
+     * @return {@code Font}
+     */
+    public static Font getFont(final String name, final double size) {
+        return fonts.computeIfAbsent(
+            name + ":" + size, key -> Font.loadFont(getPathOrContent(name), size)
+        );
     }
 
     /**
      * Retourne l'objet{@code Media}correspondant au nom.
+     * Le média n'est chargé qu'au premier appel.
      * @param name Nom de l'image
      * @return {@code Media}
      */
     public static Media getMedia(final String name) {
-        return mp4.get(name);
+        if (!mp4.containsKey(name)) {
+            return null;
+        }
+        return medias.computeIfAbsent(name, key -> new Media(mp4.get(key)));
     }
 }
@@ -0,0 +1,66 @@
+package config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import config.mazeGen.MazeGenerator;
+import utils.RandomSource;
+
+/**
+ * Tests du format binaire des cartes : une carte encodée puis décodée, en mémoire ou
+ * dans un fichier, garde les mêmes cellules.
+ */
+class BinaryMazeTest {
+    private static final long SEED = 3;
+    private static final int HEIGHT = 31;
+    private static final int WIDTH = 28;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void jsonMazeRoundTrip() {
+        final Cell[][] maze = MazeConfig.getJSONMaze("Level1");
+        assertArrayEquals(packed(maze), packed(BinaryMaze.decode(
+            ByteBuffer.wrap(BinaryMaze.encode(maze)))));
+    }
+
+    @Test
+    void generatedMazeFileRoundTrip() throws IOException {
+        final Cell[][] maze = new MazeGenerator(RandomSource.seeded(SEED).getMazeRandom())
+            .generate(HEIGHT, WIDTH);
+        final Path file = dir.resolve("generated.maze");
+        BinaryMaze.write(maze, file);
+        assertArrayEquals(packed(maze), packed(BinaryMaze.read(file)));
+    }
+
+    @Test
+    void truncatedMazeIsRejected() {
+        final byte[] bytes = BinaryMaze.encode(MazeConfig.getJSONMaze("Level1"));
+        assertThrows(IllegalArgumentException.class,
+            () -> BinaryMaze.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+    }
+
+    /**
+     * Renvoie les codes des cellules d'une carte (cf {@link Cell#pack()}).
+     * @param maze Carte
+     * @return {@code int[][]}
+     */
+    static int[][] packed(final Cell[][] maze) {
+        final int[][] codes = new int[maze.length][];
+        for (int y = 0; y < maze.length; y++) {
+            codes[y] = new int[maze[y].length];
+            for (int x = 0; x < maze[y].length; x++) {
+                codes[y][x] = maze[y][x].pack();
+            }
+        }
+        return codes;
+    }
+}
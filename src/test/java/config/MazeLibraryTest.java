@@ -0,0 +1,54 @@
+package config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import config.mazeGen.MazeGenerator;
+import utils.RandomSource;
+
+/**
+ * Tests des bibliothèques de cartes : les cartes et leur bloc {@code "config"} écrits
+ * par {@link MazeLibrary#write} sont relus à l'identique.
+ */
+class MazeLibraryTest {
+    private static final long SEED = 5;
+    private static final int HEIGHT = 35;
+    private static final int WIDTH = 32;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void writeReadRoundTrip() throws IOException {
+        final Map<String, Cell[][]> mazes = new LinkedHashMap<>();
+        mazes.put("Level1", MazeConfig.getJSONMaze("Level1"));
+        mazes.put("Generated", new MazeGenerator(RandomSource.seeded(SEED).getMazeRandom())
+            .generate(HEIGHT, WIDTH));
+        final JSONObject config = new JSONObject().put("targeting", "PATH");
+        final Path file = dir.resolve("test." + MazeLibrary.EXTENSION);
+        MazeLibrary.write(mazes, Map.of("Level1", config), file);
+
+        final MazeLibrary library = MazeLibrary.open(file);
+        assertEquals(List.of("Level1", "Generated"),
+            library.getEntries().stream().map(MazeLibrary.Entry::name).toList());
+        for (Map.Entry<String, Cell[][]> maze : mazes.entrySet()) {
+            assertArrayEquals(BinaryMazeTest.packed(maze.getValue()),
+                BinaryMazeTest.packed(library.getMaze(maze.getKey())));
+        }
+        assertEquals(config.toString(), library.getConfig("Level1").toString());
+        assertTrue(library.getConfig("Generated").isEmpty());
+        assertNull(library.getMaze("Missing"));
+    }
+}
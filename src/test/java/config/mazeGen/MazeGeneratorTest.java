@@ -0,0 +1,46 @@
+package config.mazeGen;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+import config.Cell;
+import config.mazeGen.MazeGenerator.Backtracking;
+import utils.RandomSource;
+
+/**
+ * Tests du backtracking incrémental : pour une même graine, il génère la même carte
+ * que le parcours complet du terrain.
+ */
+class MazeGeneratorTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5, 42};
+    private static final int[][] SIZES = {{31, 28}, {41, 40}};
+
+    @Test
+    void fullScanAndIncrementalBuildSameMaze() {
+        for (int[] size : SIZES) {
+            for (long seed : SEEDS) {
+                assertArrayEquals(packed(generate(Backtracking.FULL_SCAN, seed, size)),
+                    packed(generate(Backtracking.INCREMENTAL, seed, size)),
+                    "graine " + seed + ", taille " + size[0] + "x" + size[1]);
+            }
+        }
+    }
+
+    private static Cell[][] generate(final Backtracking backtracking, final long seed,
+            final int[] size) {
+        return new MazeGenerator(RandomSource.seeded(seed).getMazeRandom(), backtracking)
+            .generate(size[0], size[1]);
+    }
+
+    private static int[][] packed(final Cell[][] maze) {
+        final int[][] codes = new int[maze.length][];
+        for (int y = 0; y < maze.length; y++) {
+            codes[y] = new int[maze[y].length];
+            for (int x = 0; x < maze[y].length; x++) {
+                codes[y][x] = maze[y][x].pack();
+            }
+        }
+        return codes;
+    }
+}
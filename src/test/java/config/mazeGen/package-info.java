@@ -0,0 +1,4 @@
+/**
+ * Package contenant les tests pour le package config.mazeGen.
+ */
+package config.mazeGen;
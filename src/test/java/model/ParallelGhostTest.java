@@ -0,0 +1,104 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import config.MazeConfig;
+import model.Ghost.GhostType;
+
+/**
+ * Tests de {@link MazeState#setParallelGhosts} : avec la même graine, la mise à jour des
+ * fantômes en série et en parallèle donne la même partie.
+ */
+class ParallelGhostTest {
+    /** Nombre de fantômes de chaque type : assez pour que la mise à jour soit découpée. */
+    private static final int CROWD = 16;
+    private static final long SEED = 42;
+    private static final int TICKS = 1200;
+    private static final long TICK = 1_000_000_000L / SimulationEngine.DEFAULT_TICK_RATE;
+    private static final int STEER_PERIOD = 23;
+    private static final Direction[] DIRECTIONS = {
+        Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST
+    };
+
+    @Test
+    void serialAndParallelUpdatesEndInSamePositions() {
+        final double[] serial = play(false);
+        final double[] parallel = play(true);
+        assertArrayEquals(serial, parallel);
+    }
+
+    @Test
+    void ghostsMoveDuringTheGame() {
+        final MazeConfig config = newConfig();
+        final double[] start = positions(config);
+        final MazeState state = new MazeState(config);
+        state.setParallelGhosts(true);
+        run(config, state);
+        assertFalse(Arrays.equals(start, positions(config)));
+    }
+
+    /**
+     * Joue une partie et renvoie les positions finales des fantômes, suivies du score
+     * et du nombre de vies.
+     * @param parallelGhosts {@code true} pour mettre à jour les fantômes en parallèle
+     * @return {@code double[]}
+     */
+    private static double[] play(final boolean parallelGhosts) {
+        final MazeConfig config = newConfig();
+        final MazeState state = new MazeState(config);
+        state.setParallelGhosts(parallelGhosts);
+        run(config, state);
+        final double[] positions = positions(config);
+        final double[] result = Arrays.copyOf(positions, positions.length + 2);
+        result[result.length - 2] = state.getScore();
+        result[result.length - 1] = state.getLives();
+        return result;
+    }
+
+    private static MazeConfig newConfig() {
+        // L'état d'énergie de Pac-Man est statique : chaque partie repart du même état.
+        PacMan.setEnergizedTimer(0);
+        PacMan.setEnergizedDuration(0);
+        final int[] mix = new int[GhostType.values().length];
+        Arrays.fill(mix, CROWD);
+        final MazeConfig config = new MazeConfig(false, "Level1", false, 0, 0, false, mix);
+        config.getGhostTable().setSeed(SEED);
+        return config;
+    }
+
+    /**
+     * Fait avancer la partie en changeant la direction de Pac-Man tous les
+     * {@link #STEER_PERIOD} ticks, de façon déterministe.
+     * @param config Configuration de la partie
+     * @param state Partie
+     */
+    private static void run(final MazeConfig config, final MazeState state) {
+        long steer = 1;
+        for (int tick = 0; tick < TICKS && !state.isOver(); tick++) {
+            if (tick % STEER_PERIOD == 0) {
+                //CHECKSTYLE:OFF
+                steer = steer * 6364136223846793005L + 1442695040888963407L;
+                final Direction direction = DIRECTIONS[(int) ((steer >>> 33) % DIRECTIONS.length)];
+                //CHECKSTYLE:ON
+                config.getPacman().getDirectionBuffer().setBufferDirection(direction);
+                config.getPacman().getDirectionBuffer().setDirectionBufferTimer(0);
+            }
+            state.update(TICK);
+        }
+    }
+
+    private static double[] positions(final MazeConfig config) {
+        final GhostTable ghosts = config.getGhostTable();
+        final double[] positions = new double[ghosts.size() * 2];
+        for (int i = 0; i < ghosts.size(); i++) {
+            positions[2 * i] = ghosts.get(i).getX();
+            positions[2 * i + 1] = ghosts.get(i).getY();
+        }
+        return positions;
+    }
+}
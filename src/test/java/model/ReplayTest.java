@@ -0,0 +1,69 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import config.MazeConfig;
+import replay.Replay;
+import replay.ReplayPlayer;
+import replay.ReplayRecorder;
+import utils.RandomSource;
+
+/**
+ * Tests des parties enregistrées : une partie écrite puis relue par
+ * {@link ReplayPlayer} finit dans le même état que lors de l'enregistrement.
+ */
+class ReplayTest {
+    private static final long SEED = 7;
+    private static final int FRAMES = 900;
+    private static final int STEER_PERIOD = 17;
+    /** Durées des images, irrégulières comme en jeu (60 puis 30 images par seconde). */
+    private static final long[] FRAME_NS = {16_666_667L, 16_666_666L, 33_333_333L};
+    private static final Direction[] DIRECTIONS = {
+        Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST
+    };
+
+    @Test
+    void replayedGameHasSameHash() throws IOException {
+        final Replay recorded = record();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorded.write(out);
+        final Replay replay = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("Level1", replay.getMapName());
+
+        PacMan.setEnergizedTimer(0);
+        PacMan.setEnergizedDuration(0);
+        final MazeState state = ReplayPlayer.play(replay);
+        assertTrue(state.getScore() > 0);
+        assertEquals(recorded.getFinalHash(), Replay.hash(state));
+    }
+
+    /**
+     * Joue et enregistre une partie sur {@code Level1}, Pac-Man changeant de direction
+     * tous les {@link #STEER_PERIOD} images.
+     * @return {@link Replay}
+     */
+    private static Replay record() {
+        PacMan.setEnergizedTimer(0);
+        PacMan.setEnergizedDuration(0);
+        final MazeConfig config = MazeConfig.classicalConfig(false, RandomSource.seeded(SEED));
+        final SimulationEngine engine = new SimulationEngine(new MazeState(config));
+        final ReplayRecorder recorder = new ReplayRecorder(engine, SEED);
+        for (int frame = 0; frame < FRAMES && !engine.getState().isOver(); frame++) {
+            if (frame % STEER_PERIOD == 0) {
+                final Direction direction = DIRECTIONS[frame / STEER_PERIOD % DIRECTIONS.length];
+                recorder.input(false, direction);
+                config.getPacman().getDirectionBuffer().setBufferDirection(direction);
+                config.getPacman().getDirectionBuffer().setDirectionBufferTimer(0);
+            }
+            recorder.advance(FRAME_NS[frame % FRAME_NS.length]);
+        }
+        return recorder.finish();
+    }
+}
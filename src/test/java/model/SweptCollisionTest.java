@@ -0,0 +1,72 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import config.MazeConfig;
+import utils.RandomSource;
+
+/**
+ * Tests des collisions continues de {@link GhostTable#sweptHit} : un fantôme qui
+ * traverse Pac-Man pendant un long tick le touche, même si leurs positions de début
+ * et de fin de tick sont éloignées.
+ */
+class SweptCollisionTest {
+    private static final double RANGE = 0.8;
+    private static final double ROW = 5;
+    private static final double GHOST_START = 10;
+    private static final double GHOST_END = 14;
+    private static final double PACMAN_START = 13;
+    private static final double PACMAN_END = 11;
+    private static final double OTHER_ROW = 9;
+
+    private GhostTable ghosts;
+    private Ghost ghost;
+
+    @BeforeEach
+    void setUp() {
+        final MazeConfig config = MazeConfig.classicalConfig(false, RandomSource.seeded(1));
+        ghosts = config.getGhostTable();
+        ghost = ghosts.get(0);
+    }
+
+    @Test
+    void ghostCrossingPacManCollides() {
+        ghost.setPos(GHOST_START, ROW);
+        ghosts.savePositions();
+        ghost.setPos(GHOST_END, ROW);
+        // Aux positions de début et de fin de tick, le fantôme et Pac-Man sont à 3 cases.
+        assertFalse(Math.abs(GHOST_START - PACMAN_START) <= RANGE);
+        assertFalse(Math.abs(GHOST_END - PACMAN_END) <= RANGE);
+        assertTrue(ghosts.sweptHit(ghost.getIndex(), PACMAN_START, ROW,
+            PACMAN_END, ROW, RANGE));
+    }
+
+    @Test
+    void ghostOnParallelRowDoesNotCollide() {
+        ghost.setPos(GHOST_START, OTHER_ROW);
+        ghosts.savePositions();
+        ghost.setPos(GHOST_END, OTHER_ROW);
+        assertFalse(ghosts.sweptHit(ghost.getIndex(), PACMAN_START, ROW,
+            PACMAN_END, ROW, RANGE));
+    }
+
+    @Test
+    void crossingGhostIsFoundByTheSpatialIndex() {
+        ghost.setPos(GHOST_START, ROW);
+        ghosts.savePositions();
+        ghost.setPos(GHOST_END, ROW);
+        // Même recherche que MazeState.updateCollision : portée élargie du déplacement.
+        final double travel = Math.abs(PACMAN_END - PACMAN_START);
+        ghosts.clearFound();
+        ghosts.findInRange(PACMAN_END, ROW, RANGE + ghosts.getMaxMove() + travel);
+        boolean found = false;
+        for (int k = 0; k < ghosts.getFoundCount(); k++) {
+            found |= ghosts.getFound(k) == ghost.getIndex();
+        }
+        assertTrue(found);
+    }
+}